@@ -0,0 +1,65 @@
+package com.ega.bank_system.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Passage des ids de transactions et de clients d'IDENTITY aux séquences "pooled" (allocationSize = 50),
+ * rejoué à chaque démarrage et sans effet une fois fait.
+ * Sur une base existante, ddl-auto=update crée les séquences à partir de 1 : elles sont recalées
+ * au-delà du plus grand id existant avant que l'application ne serve la moindre requête.
+ * Une séquence déjà en avance (autre nœud en service) n'est jamais reculée.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    static final int ALLOCATION = 50;
+    static final String[][] SEQUENCES = {
+            {"transactions", "transactions_seq"},
+            {"clients", "clients_seq"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void preparer() {
+        for (String[] sequence : SEQUENCES) {
+            recaler(sequence[0], sequence[1]);
+        }
+    }
+
+    private void recaler(String table, String sequence) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                + " START WITH 1 INCREMENT BY " + ALLOCATION);
+        // Hibernate insère désormais les ids lui-même : l'ancienne colonne IDENTITY n'a plus lieu d'être.
+        // Vérifié avant l'ALTER pour ne pas prendre de verrou exclusif sur la table à chaque démarrage
+        Integer identite = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns "
+                        + "WHERE table_name = ? AND column_name = 'id' AND is_identity = 'YES'",
+                Integer.class, table);
+        if (identite != null && identite > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        }
+
+        // Recalage seulement si la séquence est en retard sur les ids existants
+        List<Long> recale = jdbcTemplate.queryForList(
+                "SELECT setval('" + sequence + "', m.max_id + " + ALLOCATION + ") "
+                        + "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table + ") m, " + sequence + " s "
+                        + "WHERE s.last_value < m.max_id + " + ALLOCATION,
+                Long.class);
+        if (!recale.isEmpty()) {
+            log.info("Séquence {} recalée à {} (ids existants de {})", sequence, recale.get(0), table);
+        }
+    }
+}
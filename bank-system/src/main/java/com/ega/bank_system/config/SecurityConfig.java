@@ -1,7 +1,10 @@
 package com.ega.bank_system.config;
 
+import com.ega.bank_system.security.BoundedPasswordEncoder;
 import com.ega.bank_system.security.CustomUserDetailsService;
 import com.ega.bank_system.security.JwtAuthenticationFilter;
+import com.ega.bank_system.security.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,9 +32,11 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -49,6 +54,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Limitation de débit une fois l'utilisateur (et son rôle) connu
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .headers(headers -> headers
                         .frameOptions(frame -> frame.sameOrigin())
                 );
@@ -62,6 +69,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*")); // Autorise toutes les origines
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Curseur de la page suivante de l'historique, lu par le frontend
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor"));
         configuration.setAllowCredentials(false);
         configuration.setMaxAge(3600L);
 
@@ -70,10 +79,16 @@ public class SecurityConfig {
         return source;
     }
 
-    // Encoder de mots de passe pour Spring Security
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Encoder de mots de passe pour Spring Security : BCrypt sur un pool borné, hors des threads servlet
+    @Bean(destroyMethod = "arreter")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.threads:0}") int threads,
+            @Value("${app.security.bcrypt.queue-capacity:64}") int capaciteFile,
+            @Value("${app.security.bcrypt.wait-timeout-ms:10000}") long attenteMaxMs,
+            @Value("${app.security.bcrypt.retry-after-seconds:2}") long retryAfterSecondes) {
+        // Par défaut la moitié des cœurs : une vague de connexions laisse toujours du CPU aux autres endpoints
+        int taille = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), taille, capaciteFile, attenteMaxMs, retryAfterSecondes);
     }
 
     // Provider d'authentification basé sur UserDetailsService et BCrypt
@@ -0,0 +1,46 @@
+package com.ega.bank_system.config;
+
+import com.ega.bank_system.util.IndexConcurrent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index de transactions hors de portée de @Table(indexes) : créés au démarrage, après la mise à jour
+ * du schéma par Hibernate, et sans effet une fois en place.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class TransactionIndexInitializer {
+
+    static final String[][] INDEX = {
+            // Opérations en attente : quelques lignes parmi des millions, l'index ne contient qu'elles
+            {"idx_transactions_en_attente", "ON transactions (date_operation) WHERE statut = 'EN_ATTENTE'"},
+            // Totaux des relevés servis par un parcours d'index seul (index-only scan)
+            {"idx_transactions_releve", "ON transactions (compte_id, date_operation) INCLUDE (type, statut, montant)"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void preparer() {
+        for (String[] index : INDEX) {
+            // Index d'optimisation seulement : sans lui les requêtes restent correctes, le démarrage continue
+            try {
+                if (IndexConcurrent.assurer(jdbcTemplate, index[0], index[1])) {
+                    log.info("Index {} construit", index[0]);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Index {} non construit: {}", index[0], e.getMessage());
+            }
+        }
+    }
+}
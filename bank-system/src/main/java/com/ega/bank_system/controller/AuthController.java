@@ -4,9 +4,12 @@ import com.ega.bank_system.dto.AuthRequest;
 import com.ega.bank_system.dto.AuthResponse;
 import com.ega.bank_system.dto.ChangePasswordRequest;
 import com.ega.bank_system.dto.RegisterRequest;
+import com.ega.bank_system.exception.ServiceSatureException;
 import com.ega.bank_system.service.AuthService;
 import com.ega.bank_system.security.BlacklistService;
 import com.ega.bank_system.security.JwtService;
+import com.ega.bank_system.security.TokenWatermarkService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -19,6 +22,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -35,6 +40,7 @@ public class AuthController {
     private final AuthService authService;
     private final JwtService jwtService;
     private final BlacklistService blacklistService;
+    private final TokenWatermarkService tokenWatermarkService;
 
     @PostMapping("/login")
     @Operation(
@@ -50,6 +56,10 @@ public class AuthController {
             @ApiResponse(
                     responseCode = "401",
                     description = "Identifiants invalides"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Trop de connexions simultanées - réessayer après le délai Retry-After"
             )
     })
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
@@ -130,6 +140,31 @@ public class AuthController {
         return ResponseEntity.ok("Mot de passe modifié avec succès");
     }
 
+    @PostMapping("/users/{username}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Révoquer tous les tokens d'un utilisateur",
+            description = "Invalide en une seule écriture tous les tokens (accès et rafraîchissement) émis jusqu'ici pour l'utilisateur"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens révoqués"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Accès refusé - Réservé aux ADMIN"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Utilisateur non trouvé"
+            )
+    })
+    public ResponseEntity<String> revokeAllTokens(@PathVariable String username) {
+        tokenWatermarkService.revokeAll(username);
+        return ResponseEntity.ok("Tokens révoqués pour l'utilisateur " + username);
+    }
+
     @PostMapping("/logout")
     @PreAuthorize("isAuthenticated()")
     @Operation(
@@ -157,7 +192,10 @@ public class AuthController {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            blacklistService.revoke(token, jwtService.extractExpiration(token).getTime());
+            Claims claims = jwtService.validateToken(token);
+            if (claims != null) {
+                blacklistService.revoke(claims, token);
+            }
         }
 
         // Supprimer les cookies d'authentification
@@ -173,4 +211,14 @@ public class AuthController {
 
         return ResponseEntity.ok("Déconnexion réussie");
     }
+
+    /**
+     * Pool de hachage des mots de passe saturé : refus immédiat avec délai de nouvel essai.
+     */
+    @ExceptionHandler(ServiceSatureException.class)
+    public ResponseEntity<String> handleServiceSature(ServiceSatureException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSecondes()))
+                .body(e.getMessage());
+    }
 }
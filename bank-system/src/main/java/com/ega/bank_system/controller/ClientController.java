@@ -13,8 +13,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -64,10 +67,13 @@ public class ClientController {
     }
 
     @GetMapping
-    @Operation(summary = "Obtenir tous les clients", description = "Récupère la liste complète de tous les clients")
+    @Operation(summary = "Obtenir tous les clients", description = "Récupère une page de clients, éventuellement filtrée sur le statut actif")
     @ApiResponse(responseCode = "200", description = "Liste des clients récupérée avec succès")
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        List<ClientDTO> clients = clientService.getAllClients();
+    public ResponseEntity<List<ClientDTO>> getAllClients(
+            @Parameter(description = "Filtre sur le statut actif", example = "true") @RequestParam(required = false) Boolean actif,
+            @Parameter(description = "Numéro de page", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page", example = "100") @RequestParam(defaultValue = "100") int size) {
+        List<ClientDTO> clients = clientService.getAllClients(actif, page, size);
         return ResponseEntity.ok(clients);
     }
 
@@ -145,12 +151,25 @@ public class ClientController {
         return ResponseEntity.ok(client);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exporter tous les clients",
+            description = "Tableau JSON de tous les clients, diffusé au fil de la lecture (mémoire constante côté serveur)")
+    @ApiResponse(responseCode = "200", description = "Clients diffusés")
+    public ResponseEntity<StreamingResponseBody> exporterClients() {
+        StreamingResponseBody corps = clientService::exporterClients;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corps);
+    }
+
     @GetMapping("/search")
-    @Operation(summary = "Rechercher des clients", description = "Recherche des clients par critères (nom, prénom, email, etc.)")
+    @Operation(summary = "Rechercher des clients", description = "Recherche des clients par nom, prénom, email ou téléphone, les plus pertinents en premier")
     @ApiResponse(responseCode = "200", description = "Résultats de recherche retournés")
     public ResponseEntity<List<ClientDTO>> searchClients(
-            @Parameter(description = "Requête de recherche", example = "Dupont") @RequestParam String query) {
-        List<ClientDTO> clients = clientService.searchClients(query);
+            @Parameter(description = "Requête de recherche", example = "Dupont") @RequestParam String query,
+            @Parameter(description = "Filtre sur le statut actif", example = "true") @RequestParam(required = false) Boolean actif,
+            @Parameter(description = "Numéro de page", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        List<ClientDTO> clients = clientService.searchClients(query, actif, page, size);
         return ResponseEntity.ok(clients);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.ega.bank_system.controller;
 
 import com.ega.bank_system.dto.CompteDTO;
+import com.ega.bank_system.dto.HistoriqueTransactionsDTO;
+import com.ega.bank_system.dto.TotalParTypeDTO;
 import com.ega.bank_system.dto.TransactionDTO;
 import com.ega.bank_system.dto.VirementRequest;
 import com.ega.bank_system.enums.TypeCompte;
@@ -17,9 +19,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +35,8 @@ import java.util.List;
 @Tag(name = "Comptes", description = "API de gestion des comptes bancaires")
 public class CompteController {
 
+    public static final String HEADER_CURSEUR_SUIVANT = "X-Next-Cursor";
+
     private final CompteService compteService;
     private final TransactionService transactionService;
 
@@ -87,18 +93,30 @@ public class CompteController {
     @GetMapping
     @Operation(
         summary = "Lister tous les comptes",
-        description = "Récupère la liste de tous les comptes bancaires enregistrés dans le système"
+        description = "Récupère une page des comptes bancaires enregistrés dans le système"
     )
     @ApiResponse(
         responseCode = "200",
         description = "Liste des comptes récupérée avec succès",
         content = @Content(schema = @Schema(implementation = CompteDTO.class))
     )
-    public ResponseEntity<List<CompteDTO>> getAllComptes() {
-        List<CompteDTO> comptes = compteService.getAllComptes();
+    public ResponseEntity<List<CompteDTO>> getAllComptes(
+            @Parameter(description = "Numéro de page", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page", example = "100") @RequestParam(defaultValue = "100") int size) {
+        List<CompteDTO> comptes = compteService.getAllComptes(page, size);
         return ResponseEntity.ok(comptes);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exporter tous les comptes",
+            description = "Tableau JSON de tous les comptes, diffusé au fil de la lecture (mémoire constante côté serveur)")
+    @ApiResponse(responseCode = "200", description = "Comptes diffusés")
+    public ResponseEntity<StreamingResponseBody> exporterComptes() {
+        StreamingResponseBody corps = compteService::exporterComptes;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corps);
+    }
+
     @GetMapping("/{numeroCompte}")
     @Operation(summary = "Obtenir un compte par son numéro", description = "Récupère les informations détaillées d'un compte")
     @ApiResponses(value = {
@@ -124,12 +142,14 @@ public class CompteController {
     }
 
     @GetMapping("/type/{type}")
-    @Operation(summary = "Obtenir les comptes par type", description = "Récupère tous les comptes d'un type spécifique (COURANT ou EPARGNE)")
+    @Operation(summary = "Obtenir les comptes par type", description = "Récupère une page des comptes d'un type spécifique (COURANT ou EPARGNE)")
     @ApiResponse(responseCode = "200", description = "Comptes du type spécifié récupérés")
     public ResponseEntity<List<CompteDTO>> getComptesByType(
             @Parameter(description = "Type de compte", example = "COURANT", schema = @Schema(allowableValues = {"COURANT", "EPARGNE"}))
-            @PathVariable TypeCompte type) {
-        List<CompteDTO> comptes = compteService.getComptesByType(type);
+            @PathVariable TypeCompte type,
+            @Parameter(description = "Numéro de page", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page", example = "100") @RequestParam(defaultValue = "100") int size) {
+        List<CompteDTO> comptes = compteService.getComptesByType(type, page, size);
         return ResponseEntity.ok(comptes);
     }
 
@@ -159,6 +179,26 @@ public class CompteController {
         return ResponseEntity.ok().build();
     }
 
+    @PatchMapping("/{numeroCompte}/hot")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Configurer un compte chaud",
+        description = "Répartit les crédits d'un compte très sollicité sur plusieurs shards de solde. Le solde retourné reste la somme exacte."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Compte configuré avec succès"),
+            @ApiResponse(responseCode = "400", description = "Nombre de shards invalide"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Seuls les ADMIN peuvent configurer des comptes"),
+            @ApiResponse(responseCode = "404", description = "Compte non trouvé")
+    })
+    public ResponseEntity<CompteDTO> configurerShards(
+            @PathVariable String numeroCompte,
+            @Parameter(description = "Activer (true) ou désactiver (false) le mode chaud") @RequestParam boolean actif,
+            @Parameter(description = "Nombre de shards de solde", example = "8") @RequestParam(defaultValue = "8") int shards) {
+        CompteDTO compte = compteService.configurerShards(numeroCompte, actif, shards);
+        return ResponseEntity.ok(compte);
+    }
+
     @DeleteMapping("/{numeroCompte}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Supprimer un compte")
@@ -220,10 +260,33 @@ public class CompteController {
     }
 
     @GetMapping("/{numeroCompte}/transactions")
-    @Operation(summary = "Obtenir les transactions d'un compte")
-    public ResponseEntity<List<TransactionDTO>> getTransactions(@PathVariable String numeroCompte) {
-        List<TransactionDTO> transactions = transactionService.getTransactionsByCompte(numeroCompte);
-        return ResponseEntity.ok(transactions);
+    @Operation(summary = "Obtenir les transactions d'un compte",
+            description = "Historique du plus récent au plus ancien, par pages. Le curseur de la page suivante " +
+                    "est renvoyé dans l'en-tête " + HEADER_CURSEUR_SUIVANT + " (absent sur la dernière page)")
+    public ResponseEntity<List<TransactionDTO>> getTransactions(
+            @PathVariable String numeroCompte,
+            @Parameter(description = "Curseur opaque renvoyé par la page précédente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page", example = "50") @RequestParam(defaultValue = "50") int size) {
+        HistoriqueTransactionsDTO historique = transactionService.getTransactionsByCompte(numeroCompte, cursor, size);
+        ResponseEntity.BodyBuilder reponse = ResponseEntity.ok();
+        if (historique.getCurseurSuivant() != null) {
+            reponse.header(HEADER_CURSEUR_SUIVANT, historique.getCurseurSuivant());
+        }
+        return reponse.body(historique.getTransactions());
+    }
+
+    @GetMapping(value = "/{numeroCompte}/transactions/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exporter tout l'historique d'un compte",
+            description = "Tableau JSON de toutes les transactions du compte, du plus récent au plus ancien, diffusé au fil de la lecture")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transactions diffusées"),
+        @ApiResponse(responseCode = "404", description = "Compte non trouvé")
+    })
+    public ResponseEntity<StreamingResponseBody> exporterTransactions(@PathVariable String numeroCompte) {
+        // Contrôle d'existence avant de diffuser : une fois le flux commencé, le statut est déjà envoyé
+        compteService.getCompteByNumero(numeroCompte);
+        StreamingResponseBody corps = sortie -> transactionService.exporterTransactions(numeroCompte, sortie);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corps);
     }
 
     @GetMapping("/{numeroCompte}/transactions/period")
@@ -236,6 +299,15 @@ public class CompteController {
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/{numeroCompte}/transactions/period/totaux")
+    @Operation(summary = "Totaux par type d'opération d'un compte sur une période (relevé)")
+    public ResponseEntity<List<TotalParTypeDTO>> getTotauxByPeriod(
+            @PathVariable String numeroCompte,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return ResponseEntity.ok(transactionService.getTotauxByPeriod(numeroCompte, startDate, endDate));
+    }
+
     @GetMapping("/{numeroCompte}/solde")
     @Operation(summary = "Obtenir le solde d'un compte")
     public ResponseEntity<BigDecimal> getSolde(@PathVariable String numeroCompte) {
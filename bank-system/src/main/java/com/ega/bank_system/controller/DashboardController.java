@@ -0,0 +1,45 @@
+package com.ega.bank_system.controller;
+
+import com.ega.bank_system.dto.DashboardDTO;
+import com.ega.bank_system.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Tableau de bord", description = "Indicateurs agrégés des clients, comptes et opérations")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    @Operation(summary = "Indicateurs du tableau de bord",
+            description = "Comptes et encours par type, volumes d'opérations par jour et par type sur la période, "
+                    + "meilleurs clients et activité récente. Par défaut, le dernier mois.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Indicateurs retournés"),
+            @ApiResponse(responseCode = "400", description = "Période invalide"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Réservé aux ADMIN")
+    })
+    public ResponseEntity<DashboardDTO> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin) {
+        LocalDate finPeriode = fin != null ? fin : LocalDate.now();
+        LocalDate debutPeriode = debut != null ? debut : finPeriode.minusMonths(1);
+        return ResponseEntity.ok(dashboardService.getDashboard(debutPeriode, finPeriode));
+    }
+}
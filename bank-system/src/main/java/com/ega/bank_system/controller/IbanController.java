@@ -0,0 +1,69 @@
+package com.ega.bank_system.controller;
+
+import com.ega.bank_system.service.IbanValidationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/iban")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+@Tag(name = "IBAN", description = "Validation d'IBAN en masse")
+public class IbanController {
+
+    private final IbanValidationService ibanValidationService;
+
+    @PostMapping(value = "/validation", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Valider une liste d'IBAN",
+            description = "Corps : un IBAN par ligne. Réponse diffusée au fil de l'eau : une ligne IBAN;VALIDE ou IBAN;INVALIDE par IBAN, dans l'ordre")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Résultats diffusés ligne par ligne"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Réservé aux AGENT et ADMIN")
+    })
+    public ResponseEntity<StreamingResponseBody> validerCorps(HttpServletRequest request) {
+        return diffuser(request::getInputStream);
+    }
+
+    @PostMapping(value = "/validation/fichier", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Valider un fichier d'IBAN",
+            description = "Fichier texte téléversé, un IBAN par ligne. Même format de réponse que /validation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Résultats diffusés ligne par ligne"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Réservé aux AGENT et ADMIN")
+    })
+    public ResponseEntity<StreamingResponseBody> validerFichier(@RequestParam("fichier") MultipartFile fichier) {
+        return diffuser(fichier::getInputStream);
+    }
+
+    private ResponseEntity<StreamingResponseBody> diffuser(SourceIban source) {
+        StreamingResponseBody corps = sortie -> {
+            try (InputStream entree = source.ouvrir()) {
+                ibanValidationService.validerFlux(entree, sortie);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(corps);
+    }
+
+    @FunctionalInterface
+    private interface SourceIban {
+        InputStream ouvrir() throws IOException;
+    }
+}
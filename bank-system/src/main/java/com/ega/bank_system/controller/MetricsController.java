@@ -0,0 +1,47 @@
+package com.ega.bank_system.controller;
+
+import com.ega.bank_system.security.BoundedPasswordEncoder;
+import com.ega.bank_system.service.impl.VirementExecutor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/metrics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Métriques", description = "Indicateurs internes de contention et de charge")
+public class MetricsController {
+
+    private final VirementExecutor virementExecutor;
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    @GetMapping("/virements")
+    @Operation(summary = "Métriques des virements", description = "Rejeux, abandons, temps d'attente des verrous et comptes les plus contestés")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métriques retournées"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Réservé aux ADMIN")
+    })
+    public ResponseEntity<Map<String, Object>> getVirementMetrics() {
+        return ResponseEntity.ok(virementExecutor.metriques());
+    }
+
+    @GetMapping("/authentification")
+    @Operation(summary = "Métriques du hachage des mots de passe", description = "Profondeur de file, rejets et durée des opérations BCrypt")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métriques retournées"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Réservé aux ADMIN")
+    })
+    public ResponseEntity<Map<String, Object>> getAuthentificationMetrics() {
+        return ResponseEntity.ok(passwordEncoder.metriques());
+    }
+}
@@ -1,4 +1,77 @@
 package com.ega.bank_system.controller;
 
+import com.ega.bank_system.dto.FiltreTransactions;
+import com.ega.bank_system.dto.HistoriqueTransactionsDTO;
+import com.ega.bank_system.dto.TotalParTypeDTO;
+import com.ega.bank_system.dto.TransactionDTO;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.ega.bank_system.controller.CompteController.HEADER_CURSEUR_SUIVANT;
+
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+@Tag(name = "Transactions", description = "Journal des transactions tous comptes confondus")
 public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    @GetMapping
+    @Operation(summary = "Journal des transactions",
+            description = "Transactions de tous les comptes, du plus récent au plus ancien, filtrées côté serveur. "
+                    + "Le curseur de la page suivante est renvoyé dans l'en-tête " + HEADER_CURSEUR_SUIVANT
+                    + " (absent sur la dernière page)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page du journal retournée"),
+            @ApiResponse(responseCode = "400", description = "Curseur, taille de page ou période invalide")
+    })
+    public ResponseEntity<List<TransactionDTO>> getJournal(
+            @Parameter(description = "Types d'opération retenus (tous par défaut)") @RequestParam(required = false) Set<TypeTransaction> type,
+            @Parameter(description = "Statuts retenus (tous par défaut)") @RequestParam(required = false) Set<StatutTransaction> statut,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+            @Parameter(description = "Référence, numéro de compte ou nom du titulaire") @RequestParam(required = false) String search,
+            @Parameter(description = "Curseur opaque renvoyé par la page précédente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page", example = "50") @RequestParam(defaultValue = "50") int size) {
+        HistoriqueTransactionsDTO journal = transactionService.getJournal(
+                new FiltreTransactions(type, statut, debut, fin, search), cursor, size);
+        ResponseEntity.BodyBuilder reponse = ResponseEntity.ok();
+        if (journal.getCurseurSuivant() != null) {
+            reponse.header(HEADER_CURSEUR_SUIVANT, journal.getCurseurSuivant());
+        }
+        return reponse.body(journal.getTransactions());
+    }
+
+    @GetMapping("/totaux")
+    @Operation(summary = "Totaux du journal",
+            description = "Nombre et montant des opérations validées par type, pour les mêmes critères que le journal")
+    public ResponseEntity<List<TotalParTypeDTO>> getTotauxJournal(
+            @RequestParam(required = false) Set<TypeTransaction> type,
+            @RequestParam(required = false) Set<StatutTransaction> statut,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+            @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(transactionService.getTotauxJournal(
+                new FiltreTransactions(type, statut, debut, fin, search)));
+    }
 }
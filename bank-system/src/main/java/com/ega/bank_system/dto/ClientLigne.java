@@ -0,0 +1,44 @@
+package com.ega.bank_system.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un client pour les exports : lue hors contexte de persistance,
+ * elle ne s'accumule pas en mémoire pendant le parcours.
+ */
+public record ClientLigne(Long id,
+                          String clientCode,
+                          String nom,
+                          String prenom,
+                          LocalDate dateNaissance,
+                          String sexe,
+                          String adresse,
+                          String telephone,
+                          String email,
+                          String nationalite,
+                          boolean active,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt) {
+
+    public ClientDTO versDTO() {
+        return ClientDTO.builder()
+                .id(id)
+                .clientCode(clientCode)
+                .nom(nom)
+                .prenom(prenom)
+                .dateNaissance(dateNaissance)
+                .sexe(sexe)
+                .adresse(adresse)
+                .telephone(telephone)
+                .email(email)
+                .nationalite(nationalite)
+                .active(active)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                // Mêmes règles que Client.getAge() et Client.getFullName()
+                .age(LocalDate.now().getYear() - dateNaissance.getYear())
+                .fullName(nom + " " + prenom)
+                .build();
+    }
+}
@@ -50,6 +50,11 @@ public class CompteDTO {
             accessMode = Schema.AccessMode.READ_ONLY)
     private ClientDTO client;
 
+    @Schema(description = "Compte chaud : crédits répartis sur plusieurs shards de solde",
+            example = "false",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private boolean hot;
+
     @DecimalMin(value = "0.0", message = "Le taux d'intérêt ne peut pas être négatif")
     @DecimalMax(value = "100.0", message = "Le taux d'intérêt ne peut pas dépasser 100%")
     @Schema(description = "Taux d'intérêt annuel (uniquement pour les comptes épargne)",
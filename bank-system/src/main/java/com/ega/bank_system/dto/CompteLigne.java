@@ -0,0 +1,31 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.TypeCompte;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection d'un compte pour les listes : uniquement les colonnes affichées, solde des shards
+ * déjà ajouté par la requête, sans entité ni association à initialiser.
+ */
+public record CompteLigne(String numeroCompte,
+                          TypeCompte type,
+                          LocalDate dateCreation,
+                          BigDecimal solde,
+                          boolean hot,
+                          Long clientId,
+                          BigDecimal tauxInteret) {
+
+    public CompteDTO versDTO() {
+        return CompteDTO.builder()
+                .numeroCompte(numeroCompte)
+                .type(type)
+                .dateCreation(dateCreation)
+                .solde(solde)
+                .hot(hot)
+                .clientId(clientId)
+                .tauxInteret(tauxInteret)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.TypeCompte;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Nombre de comptes et encours (shards compris) pour un type de compte.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComptesParTypeDTO {
+
+    private TypeCompte type;
+    private Long nombre;
+    private BigDecimal solde;
+}
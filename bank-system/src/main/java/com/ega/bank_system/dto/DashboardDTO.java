@@ -0,0 +1,40 @@
+package com.ega.bank_system.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Indicateurs du tableau de bord, calculés par agrégats SQL.
+ * Les volumes d'opérations portent sur la période [debut, fin] (jours inclus) ;
+ * les comptes, soldes et évolutions mensuelles sont indépendants de la période.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    private LocalDate debut;
+    private LocalDate fin;
+
+    private Long totalClients;
+    private Long nouveauxClients;
+    private Long totalComptes;
+    private Long nouveauxComptes;
+    private BigDecimal soldeTotal;
+    private List<ComptesParTypeDTO> comptesParType;
+
+    private Long nombreTransactions;
+    private BigDecimal volumeTransactions;
+    private List<TotalParTypeDTO> transactionsParType;
+    private List<VolumeJourDTO> volumesParJour;
+    private Long transactionsEnAttente;
+
+    private List<NombreParMoisDTO> clientsParMois;
+    private List<NombreParMoisDTO> comptesParMois;
+    private List<SoldeClientDTO> topClients;
+    private List<TransactionDTO> activiteRecente;
+}
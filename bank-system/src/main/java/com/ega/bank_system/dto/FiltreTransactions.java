@@ -0,0 +1,18 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Critères du journal des transactions ; un critère null ou vide ne filtre pas.
+ * La période [debut, fin] est inclusive, en jours entiers.
+ */
+public record FiltreTransactions(Set<TypeTransaction> types,
+                                 Set<StatutTransaction> statuts,
+                                 LocalDate debut,
+                                 LocalDate fin,
+                                 String recherche) {
+}
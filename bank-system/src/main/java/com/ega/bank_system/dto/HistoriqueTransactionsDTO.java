@@ -0,0 +1,19 @@
+package com.ega.bank_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Une page de l'historique d'un compte, du plus récent au plus ancien.
+ * curseurSuivant est null sur la dernière page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoriqueTransactionsDTO {
+
+    private List<TransactionDTO> transactions;
+    private String curseurSuivant;
+}
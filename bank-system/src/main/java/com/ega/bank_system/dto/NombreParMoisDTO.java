@@ -0,0 +1,17 @@
+package com.ega.bank_system.dto;
+
+import lombok.*;
+
+/**
+ * Nombre de créations (clients ou comptes) sur un mois calendaire.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NombreParMoisDTO {
+
+    private Integer annee;
+    private Integer mois;
+    private Long nombre;
+}
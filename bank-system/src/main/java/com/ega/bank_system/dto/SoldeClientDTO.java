@@ -0,0 +1,21 @@
+package com.ega.bank_system.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Encours cumulé des comptes d'un client.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoldeClientDTO {
+
+    private Long clientId;
+    private String nom;
+    private String prenom;
+    private Long nombreComptes;
+    private BigDecimal soldeTotal;
+}
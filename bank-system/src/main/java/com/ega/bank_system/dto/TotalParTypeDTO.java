@@ -0,0 +1,20 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.TypeTransaction;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Totaux d'un relevé pour un type d'opération.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalParTypeDTO {
+
+    private TypeTransaction type;
+    private Long nombre;
+    private BigDecimal montant;
+}
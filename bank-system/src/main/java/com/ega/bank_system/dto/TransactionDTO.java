@@ -60,6 +60,12 @@ public class TransactionDTO {
     @Schema(description = "Numéro du compte destinataire (pour virements)", example = "9876543210", hidden = true)
     private String compteDestinationId;
 
+    @Schema(description = "Nom du titulaire du compte source (journal des transactions)", example = "Diallo")
+    private String clientNom;
+
+    @Schema(description = "Prénom du titulaire du compte source (journal des transactions)", example = "Awa")
+    private String clientPrenom;
+
     @Schema(description = "Informations du compte source", hidden = true)
     private CompteDTO compte;
 
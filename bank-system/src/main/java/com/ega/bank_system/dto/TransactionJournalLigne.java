@@ -0,0 +1,44 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'une transaction pour le journal tous comptes confondus : la ligne d'historique
+ * et le titulaire du compte, lus dans la même requête.
+ */
+public record TransactionJournalLigne(Long id,
+                                      String reference,
+                                      TypeTransaction type,
+                                      StatutTransaction statut,
+                                      BigDecimal montant,
+                                      String devise,
+                                      LocalDateTime dateOperation,
+                                      String description,
+                                      String libelle,
+                                      String compteId,
+                                      String compteDestinationId,
+                                      String clientNom,
+                                      String clientPrenom) {
+
+    public TransactionDTO versDTO() {
+        return TransactionDTO.builder()
+                .id(id)
+                .reference(reference)
+                .type(type)
+                .statut(statut)
+                .montant(montant)
+                .devise(devise)
+                .dateOperation(dateOperation)
+                .description(description)
+                .libelle(libelle)
+                .compteId(compteId)
+                .compteDestinationId(compteDestinationId)
+                .clientNom(clientNom)
+                .clientPrenom(clientPrenom)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'une transaction pour les historiques : les numéros de compte sont lus
+ * dans les clés étrangères, sans jointure ni proxy de Compte.
+ */
+public record TransactionLigne(Long id,
+                               String reference,
+                               TypeTransaction type,
+                               StatutTransaction statut,
+                               BigDecimal montant,
+                               String devise,
+                               LocalDateTime dateOperation,
+                               String description,
+                               String libelle,
+                               String compteId,
+                               String compteDestinationId) {
+
+    public TransactionDTO versDTO() {
+        return TransactionDTO.builder()
+                .id(id)
+                .reference(reference)
+                .type(type)
+                .statut(statut)
+                .montant(montant)
+                .devise(devise)
+                .dateOperation(dateOperation)
+                .description(description)
+                .libelle(libelle)
+                .compteId(compteId)
+                .compteDestinationId(compteDestinationId)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.ega.bank_system.dto;
+
+import com.ega.bank_system.enums.TypeTransaction;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Nombre et montant des opérations validées d'un type sur une journée, tous comptes confondus.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeJourDTO {
+
+    private LocalDate jour;
+    private TypeTransaction type;
+    private Long nombre;
+    private BigDecimal montant;
+}
@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "clients")
+@Table(name = "clients", indexes = {
+        @Index(name = "idx_clients_active_id", columnList = "active, id"),
+        @Index(name = "idx_clients_created_at", columnList = "created_at")
+})
+@EntityListeners(ClientCodeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +24,8 @@ import java.util.List;
 public class Client {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @SequenceGenerator(name = "clients_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "client_code", unique = true)
@@ -65,15 +70,6 @@ public class Client {
     @Builder.Default
     private List<Compte> comptes = new ArrayList<>();
 
-    @PrePersist
-    private void generateClientCode() {
-        if (this.clientCode == null) {
-            String initials = (this.nom.substring(0, 1) + this.prenom.substring(0, 1)).toUpperCase();
-            String timestamp = String.valueOf(System.currentTimeMillis() % 10000);
-            this.clientCode = "CLI" + initials + timestamp;
-        }
-    }
-
     public String getFullName() {
         return nom + " " + prenom;
     }
@@ -0,0 +1,23 @@
+package com.ega.bank_system.entity;
+
+import com.ega.bank_system.util.ClientCodeAllocator;
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attribue le code client à la création à partir des blocs réservés par l'allocateur.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientCodeListener {
+
+    private final ClientCodeAllocator clientCodeAllocator;
+
+    @PrePersist
+    public void generateClientCode(Client client) {
+        if (client.getClientCode() == null) {
+            client.setClientCode(clientCodeAllocator.allouer(client.getNom(), client.getPrenom()));
+        }
+    }
+}
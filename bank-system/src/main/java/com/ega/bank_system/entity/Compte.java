@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "comptes")
+@Table(name = "comptes", indexes = {
+        @Index(name = "idx_comptes_type_numero", columnList = "type, numero_compte"),
+        @Index(name = "idx_comptes_client", columnList = "client_id"),
+        @Index(name = "idx_comptes_date_creation", columnList = "date_creation")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "type", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("BASE")
@@ -36,6 +40,20 @@ public abstract class Compte {
     @Builder.Default
     private BigDecimal solde = BigDecimal.ZERO;
 
+    // Compte à forte fréquence de crédits : les crédits sont répartis sur des CompteShard
+    @Column(name = "hot", nullable = false, columnDefinition = "boolean default false")
+    @Builder.Default
+    private boolean hot = false;
+
+    @Column(name = "nombre_shards")
+    private Integer nombreShards;
+
+    // Version pour le mode de virement optimiste ; incrémentée aussi par les UPDATE atomiques
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long version = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
@@ -14,8 +14,11 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @SuperBuilder
 public class CompteCourant extends Compte {
+
+    public static final BigDecimal LIMITE_RETRAIT = new BigDecimal("5000");
+
     public BigDecimal getLimiteRetrait() {
-        return new BigDecimal("5000");
+        return LIMITE_RETRAIT;
     }
 
     @Override
@@ -15,11 +15,13 @@ import java.math.BigDecimal;
 @SuperBuilder
 public class CompteEpargne extends Compte {
 
+    public static final BigDecimal LIMITE_RETRAIT = new BigDecimal("3000");
+
     private BigDecimal tauxInteret;
 
     @Override
     public BigDecimal getLimiteRetrait() {
-        return new BigDecimal("3000");
+        return LIMITE_RETRAIT;
     }
 
     @Override
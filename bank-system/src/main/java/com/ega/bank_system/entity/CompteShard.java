@@ -0,0 +1,40 @@
+package com.ega.bank_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Fraction du solde d'un compte "chaud" : les crédits sont répartis sur plusieurs lignes
+ * pour ne pas tous attendre le verrou de la ligne du compte.
+ * Le solde réel du compte est la somme de son solde principal et de ses shards.
+ */
+@Entity
+@Table(name = "compte_shards",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"numero_compte", "shard_index"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompteShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "numero_compte", nullable = false)
+    private Compte compte;
+
+    @Column(name = "numero_compte", insertable = false, updatable = false)
+    private String numeroCompte;
+
+    @Column(name = "shard_index", nullable = false)
+    private int shardIndex;
+
+    @Column(name = "solde", precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal solde = BigDecimal.ZERO;
+}
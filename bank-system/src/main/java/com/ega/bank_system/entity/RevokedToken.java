@@ -0,0 +1,58 @@
+package com.ega.bank_system.entity;
+
+import com.ega.bank_system.enums.TypeRevocation;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Révocation partagée entre les instances : un token (empreinte 64 bits de son jti)
+ * ou tous les tokens d'un utilisateur émis avant une date.
+ * Les autres instances relisent les lignes récentes pour mettre à jour leur cache local.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_enregistre_le", columnList = "enregistre_le"),
+        @Index(name = "idx_revoked_tokens_expiration", columnList = "expiration")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TypeRevocation type;
+
+    // TOKEN : empreinte du jti
+    @Column(name = "empreinte")
+    private Long empreinte;
+
+    // UTILISATEUR : tokens émis avant cette date refusés
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "revoque_avant")
+    private Instant revoqueAvant;
+
+    // Au-delà, la ligne ne refuse plus aucun token et peut être purgée
+    @Column(name = "expiration", nullable = false)
+    private Instant expiration;
+
+    @Column(name = "enregistre_le", nullable = false)
+    private Instant enregistreLe;
+
+    @PrePersist
+    protected void onCreate() {
+        if (enregistreLe == null) {
+            enregistreLe = Instant.now();
+        }
+    }
+}
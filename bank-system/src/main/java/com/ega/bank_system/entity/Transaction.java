@@ -10,7 +10,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Historique par compte, parcouru par curseur (date_operation, id) décroissant
+        @Index(name = "idx_transactions_compte_date_id", columnList = "compte_id, date_operation DESC, id DESC"),
+        // Virements reçus et suppression d'un compte (clé étrangère non indexée sinon)
+        @Index(name = "idx_transactions_compte_destination", columnList = "compte_destination_id"),
+        @Index(name = "idx_transactions_date_operation", columnList = "date_operation")
+        // Index partiel EN_ATTENTE et index couvrant des relevés : créés par config.TransactionIndexInitializer
+})
+@EntityListeners(TransactionReferenceListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +26,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Transaction {
 
+    // Séquence "pooled" : Hibernate réserve 50 ids par appel et peut regrouper les INSERT en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "reference", unique = true, nullable = false, length = 50)
@@ -58,13 +68,4 @@ public class Transaction {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "compte_destination_id")
     private Compte compteDestination;
-
-    @PrePersist
-    private void generateReference() {
-        if (this.reference == null) {
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            String random = String.valueOf((int)(Math.random() * 1000));
-            this.reference = "TRX" + timestamp.substring(timestamp.length() - 10) + random;
-        }
-    }
 }
\ No newline at end of file
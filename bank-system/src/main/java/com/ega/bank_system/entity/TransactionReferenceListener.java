@@ -0,0 +1,24 @@
+package com.ega.bank_system.entity;
+
+import com.ega.bank_system.util.ReferenceGenerator;
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attribue la référence des transactions à la création.
+ * Instancié par Spring (conteneur de beans Hibernate) pour recevoir le générateur.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionReferenceListener {
+
+    private final ReferenceGenerator referenceGenerator;
+
+    @PrePersist
+    public void generateReference(Transaction transaction) {
+        if (transaction.getReference() == null) {
+            transaction.setReference(referenceGenerator.next());
+        }
+    }
+}
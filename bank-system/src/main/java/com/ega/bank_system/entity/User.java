@@ -2,14 +2,20 @@ package com.ega.bank_system.entity;
 
 import com.ega.bank_system.enums.Role;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -19,6 +25,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserPrincipalListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,12 +65,24 @@ public class User implements UserDetails {
     @Builder.Default
     private Boolean credentialsNonExpired = true;
 
+    // Tokens émis avant cette date refusés (révocation globale)
+    @Column(name = "tokens_revoked_before")
+    private Instant tokensRevokedBefore;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // État actif tel qu'en base, relevé au chargement et après chaque écriture
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean actifEnBase;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -75,6 +94,20 @@ public class User implements UserDetails {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void memoriserEtatActif() {
+        actifEnBase = isEnabled() && isAccountNonLocked();
+    }
+
+    /**
+     * Vrai si l'utilisateur vient d'être désactivé ou verrouillé depuis son dernier état en base.
+     */
+    boolean vientDEtreDesactive() {
+        return actifEnBase && !(isEnabled() && isAccountNonLocked());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
@@ -0,0 +1,39 @@
+package com.ega.bank_system.entity;
+
+import com.ega.bank_system.security.TokenWatermarkService;
+import com.ega.bank_system.security.UserPrincipalCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalide le principal en cache à chaque écriture d'un utilisateur
+ * (mot de passe, rôle, verrouillage, désactivation...), et révoque tous les tokens
+ * d'un utilisateur au moment où il est désactivé ou verrouillé (pas à chaque écriture ultérieure).
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalListener {
+
+    // Résolu à l'usage : le cache dépend lui-même des repositories JPA
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+    private final ObjectProvider<TokenWatermarkService> tokenWatermarkService;
+
+    @PreUpdate
+    public void revoquerSiDesactive(User user) {
+        if (user.vientDEtreDesactive()) {
+            tokenWatermarkService.getObject().revokeAll(user);
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalider(User user) {
+        userPrincipalCache.getObject().invalider(user.getUsername());
+    }
+}
@@ -0,0 +1,16 @@
+package com.ega.bank_system.enums;
+
+public enum TypeRevocation {
+    TOKEN("Token révoqué"),
+    UTILISATEUR("Tous les tokens d'un utilisateur");
+
+    private final String libelle;
+
+    TypeRevocation(String libelle) {
+        this.libelle = libelle;
+    }
+
+    public String getLibelle() {
+        return libelle;
+    }
+}
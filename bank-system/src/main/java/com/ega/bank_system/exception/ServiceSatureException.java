@@ -0,0 +1,15 @@
+package com.ega.bank_system.exception;
+
+public class ServiceSatureException extends RuntimeException {
+
+    private final long retryAfterSecondes;
+
+    public ServiceSatureException(String message, long retryAfterSecondes) {
+        super(message);
+        this.retryAfterSecondes = retryAfterSecondes;
+    }
+
+    public long getRetryAfterSecondes() {
+        return retryAfterSecondes;
+    }
+}
@@ -1,10 +1,21 @@
 package com.ega.bank_system.repository;
 
+import com.ega.bank_system.dto.ClientLigne;
+import com.ega.bank_system.dto.NombreParMoisDTO;
 import com.ega.bank_system.entity.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
@@ -15,4 +26,45 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     boolean existsByEmail(String email);
     boolean existsByTelephone(String telephone);
+
+    // Listes paginées sans requête de comptage (List plutôt que Page)
+    List<Client> findAllBy(Pageable pageable);
+    List<Client> findByActive(boolean active, Pageable pageable);
+
+    /**
+     * Recherche "contient" sur nom, prénom, email et téléphone, évaluée par la base.
+     * Le motif est attendu en minuscules avec les jokers déjà échappés.
+     */
+    @Query("SELECT c FROM Client c WHERE LOWER(c.nom) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(c.prenom) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(c.email) LIKE :motif ESCAPE '!' " +
+            "OR c.telephone LIKE :motif ESCAPE '!'")
+    List<Client> rechercher(@Param("motif") String motif, Pageable pageable);
+
+    /**
+     * Même recherche restreinte aux clients actifs ou inactifs.
+     */
+    @Query("SELECT c FROM Client c WHERE c.active = :active AND (LOWER(c.nom) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(c.prenom) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(c.email) LIKE :motif ESCAPE '!' " +
+            "OR c.telephone LIKE :motif ESCAPE '!')")
+    List<Client> rechercherParStatut(@Param("motif") String motif, @Param("active") boolean active, Pageable pageable);
+
+    /**
+     * Clients créés par mois depuis une date (index idx_clients_created_at).
+     */
+    @Query("SELECT new com.ega.bank_system.dto.NombreParMoisDTO(year(c.createdAt), month(c.createdAt), COUNT(c)) " +
+            "FROM Client c WHERE c.createdAt >= :depuis " +
+            "GROUP BY year(c.createdAt), month(c.createdAt) ORDER BY year(c.createdAt), month(c.createdAt)")
+    List<NombreParMoisDTO> nombreParMois(@Param("depuis") LocalDateTime depuis);
+
+    /**
+     * Parcours complet pour export, lu par lots de 500 lignes via un curseur serveur.
+     * À consommer dans une transaction (sans quoi le pilote PostgreSQL charge tout) puis à fermer.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.ega.bank_system.dto.ClientLigne(c.id, c.clientCode, c.nom, c.prenom, c.dateNaissance, " +
+            "c.sexe, c.adresse, c.telephone, c.email, c.nationalite, c.active, c.createdAt, c.updatedAt) " +
+            "FROM Client c ORDER BY c.id")
+    Stream<ClientLigne> streamAll();
 }
\ No newline at end of file
@@ -1,16 +1,118 @@
 package com.ega.bank_system.repository;
 
+import com.ega.bank_system.dto.CompteLigne;
+import com.ega.bank_system.dto.ComptesParTypeDTO;
+import com.ega.bank_system.dto.NombreParMoisDTO;
+import com.ega.bank_system.dto.SoldeClientDTO;
 import com.ega.bank_system.entity.Compte;
+import com.ega.bank_system.enums.TypeCompte;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CompteRepository extends JpaRepository<Compte, String> {
 
+    // Solde réel d'un compte : celui des comptes chauds est complété par la somme de leurs shards
+    String SOLDE = "c.solde + CASE WHEN c.hot = true THEN COALESCE((SELECT SUM(s.solde) FROM CompteShard s " +
+            "WHERE s.numeroCompte = c.numeroCompte), 0) ELSE 0 END";
+
+    // Taux tel que rendu par Compte.getTauxInteret() : 0 pour un compte courant, 2,5 % par défaut en épargne
+    String TAUX_INTERET = "CASE WHEN c.type = com.ega.bank_system.enums.TypeCompte.EPARGNE " +
+            "THEN COALESCE(TREAT(c AS CompteEpargne).tauxInteret, 2.5BD) ELSE 0BD END";
+
+    // Projection des listes : solde des shards ajouté dans la même requête
+    String SELECT_LIGNE = "SELECT new com.ega.bank_system.dto.CompteLigne(c.numeroCompte, c.type, c.dateCreation, " +
+            SOLDE + ", c.hot, c.client.id, " + TAUX_INTERET + ") FROM Compte c ";
+
     Optional<Compte> findByNumeroCompte(String numeroCompte);
-    List<Compte> findByClientId(Long clientId);
     boolean existsByNumeroCompte(String numeroCompte);
-}
\ No newline at end of file
+
+    @Query(SELECT_LIGNE + "WHERE c.client.id = :clientId ORDER BY c.numeroCompte")
+    List<CompteLigne> findByClientId(@Param("clientId") Long clientId);
+
+    // Listes paginées sans requête de comptage, triées dans la requête (le Pageable ne porte que la page) ;
+    // le filtre par type suit l'index (type, numero_compte)
+    @Query(SELECT_LIGNE + "ORDER BY c.numeroCompte")
+    List<CompteLigne> findAllBy(Pageable pageable);
+
+    @Query(SELECT_LIGNE + "WHERE c.type = :type ORDER BY c.numeroCompte")
+    List<CompteLigne> findByType(@Param("type") TypeCompte type, Pageable pageable);
+
+    /**
+     * Parcours complet pour export par curseur serveur (lots de 500), à consommer dans une transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_LIGNE + "ORDER BY c.numeroCompte")
+    Stream<CompteLigne> streamAll();
+
+    /**
+     * Nombre de comptes et encours par type, pour le tableau de bord.
+     */
+    @Query("SELECT new com.ega.bank_system.dto.ComptesParTypeDTO(c.type, COUNT(c), SUM(" + SOLDE + ")) " +
+            "FROM Compte c GROUP BY c.type ORDER BY c.type")
+    List<ComptesParTypeDTO> totauxParType();
+
+    /**
+     * Comptes ouverts par mois depuis une date (index idx_comptes_date_creation).
+     */
+    @Query("SELECT new com.ega.bank_system.dto.NombreParMoisDTO(year(c.dateCreation), month(c.dateCreation), COUNT(c)) " +
+            "FROM Compte c WHERE c.dateCreation >= :depuis " +
+            "GROUP BY year(c.dateCreation), month(c.dateCreation) " +
+            "ORDER BY year(c.dateCreation), month(c.dateCreation)")
+    List<NombreParMoisDTO> nombreParMois(@Param("depuis") LocalDate depuis);
+
+    /**
+     * Clients ayant le plus gros encours cumulé sur leurs comptes.
+     */
+    @Query("SELECT new com.ega.bank_system.dto.SoldeClientDTO(c.client.id, c.client.nom, c.client.prenom, " +
+            "COUNT(c), SUM(" + SOLDE + ")) FROM Compte c " +
+            "GROUP BY c.client.id, c.client.nom, c.client.prenom " +
+            "ORDER BY SUM(" + SOLDE + ") DESC, c.client.id")
+    List<SoldeClientDTO> topClientsParSolde(Limit limit);
+
+    @Query("SELECT c.numeroCompte FROM Compte c WHERE c.hot = true")
+    List<String> findNumerosComptesChauds();
+
+    /**
+     * Crédit atomique : un seul UPDATE, sans lecture préalable du compte.
+     * Retourne 0 si le compte n'existe pas ou s'il est chaud (crédit à porter sur un shard).
+     */
+    @Modifying
+    @Query("UPDATE Compte c SET c.solde = c.solde + :montant, c.version = c.version + 1 " +
+            "WHERE c.numeroCompte = :numeroCompte AND c.hot = false")
+    int crediter(@Param("numeroCompte") String numeroCompte, @Param("montant") BigDecimal montant);
+
+    /**
+     * Crédit du solde principal, y compris pour un compte chaud (consolidation des shards).
+     */
+    @Modifying
+    @Query("UPDATE Compte c SET c.solde = c.solde + :montant, c.version = c.version + 1 " +
+            "WHERE c.numeroCompte = :numeroCompte")
+    int crediterSoldePrincipal(@Param("numeroCompte") String numeroCompte, @Param("montant") BigDecimal montant);
+
+    /**
+     * Débit conditionnel : n'est appliqué que si le solde couvre le montant et que le type
+     * du compte fait partie des types autorisés. Retourne 0 sinon.
+     */
+    @Modifying
+    @Query("UPDATE Compte c SET c.solde = c.solde - :montant, c.version = c.version + 1 " +
+            "WHERE c.numeroCompte = :numeroCompte AND c.solde >= :montant AND c.type IN :types")
+    int debiter(@Param("numeroCompte") String numeroCompte,
+                @Param("montant") BigDecimal montant,
+                @Param("types") Collection<TypeCompte> types);
+}
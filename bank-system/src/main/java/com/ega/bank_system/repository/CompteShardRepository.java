@@ -0,0 +1,38 @@
+package com.ega.bank_system.repository;
+
+import com.ega.bank_system.entity.CompteShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CompteShardRepository extends JpaRepository<CompteShard, Long> {
+
+    @Modifying
+    @Query("UPDATE CompteShard s SET s.solde = s.solde + :montant " +
+            "WHERE s.numeroCompte = :numeroCompte AND s.shardIndex = :shardIndex")
+    int crediter(@Param("numeroCompte") String numeroCompte,
+                 @Param("shardIndex") int shardIndex,
+                 @Param("montant") BigDecimal montant);
+
+    @Query("SELECT COALESCE(SUM(s.solde), 0) FROM CompteShard s WHERE s.numeroCompte = :numeroCompte")
+    BigDecimal sommeSoldes(@Param("numeroCompte") String numeroCompte);
+
+    /**
+     * Verrouille les shards du compte (toujours dans l'ordre des index) avant consolidation.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CompteShard s WHERE s.numeroCompte = :numeroCompte ORDER BY s.shardIndex")
+    List<CompteShard> findPourMiseAJour(@Param("numeroCompte") String numeroCompte);
+
+    @Modifying
+    @Query("DELETE FROM CompteShard s WHERE s.numeroCompte = :numeroCompte")
+    int supprimerParCompte(@Param("numeroCompte") String numeroCompte);
+}
@@ -0,0 +1,23 @@
+package com.ega.bank_system.repository;
+
+import com.ega.bank_system.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    List<RevokedToken> findByEnregistreLeAfter(Instant depuis);
+
+    List<RevokedToken> findByExpirationAfter(Instant maintenant);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiration <= :maintenant")
+    int supprimerExpirees(@Param("maintenant") Instant maintenant);
+}
@@ -1,21 +1,170 @@
 package com.ega.bank_system.repository;
 
+import com.ega.bank_system.dto.TotalParTypeDTO;
+import com.ega.bank_system.dto.TransactionJournalLigne;
+import com.ega.bank_system.dto.TransactionLigne;
+import com.ega.bank_system.dto.VolumeJourDTO;
 import com.ega.bank_system.entity.Transaction;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    // Projection des listes : colonnes affichées seulement, numéros de compte lus dans les clés étrangères
+    String SELECT_LIGNE = "SELECT new com.ega.bank_system.dto.TransactionLigne(t.id, t.reference, t.type, t.statut, " +
+            "t.montant, t.devise, t.dateOperation, t.description, t.libelle, " +
+            "t.compte.numeroCompte, t.compteDestination.numeroCompte) FROM Transaction t ";
+
+    // Journal tous comptes : titulaire par la jointure client, compte destinataire facultatif
+    String FROM_JOURNAL = "FROM Transaction t JOIN t.compte c JOIN c.client cl LEFT JOIN t.compteDestination cd ";
+
+    String SELECT_JOURNAL = "SELECT new com.ega.bank_system.dto.TransactionJournalLigne(t.id, t.reference, t.type, " +
+            "t.statut, t.montant, t.devise, t.dateOperation, t.description, t.libelle, c.numeroCompte, " +
+            "cd.numeroCompte, cl.nom, cl.prenom) " + FROM_JOURNAL;
+
+    // Tous les critères sont toujours liés (pas de paramètre null) : motif '%' quand il n'y a pas de recherche
+    String FILTRE_JOURNAL = "WHERE t.type IN :types AND t.statut IN :statuts " +
+            "AND t.dateOperation >= :debut AND t.dateOperation < :fin " +
+            "AND (:motif = '%' OR LOWER(t.reference) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(c.numeroCompte) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(cd.numeroCompte) LIKE :motif ESCAPE '!' " +
+            "OR LOWER(CONCAT(cl.prenom, ' ', cl.nom)) LIKE :motif ESCAPE '!') ";
+
     Optional<Transaction> findByReference(String reference);
     List<Transaction> findByCompteNumeroCompte(String numeroCompte);
-    List<Transaction> findByCompteClientId(Long clientId);
+
+    /**
+     * Transactions de tous les comptes d'un client : les comptes sont trouvés par l'index client_id,
+     * puis les écritures de chacun par l'index (compte_id, date_operation), sans balayer la jointure.
+     */
+    @Query(SELECT_LIGNE + "WHERE t.compte.numeroCompte IN " +
+            "(SELECT c.numeroCompte FROM Compte c WHERE c.client.id = :clientId) " +
+            "ORDER BY t.dateOperation DESC, t.id DESC")
+    List<TransactionLigne> findByCompteClientId(@Param("clientId") Long clientId);
 
     List<Transaction> findByDateOperationBetween(LocalDateTime startDate, LocalDateTime endDate);
-    List<Transaction> findByCompteNumeroCompteAndDateOperationBetween(
-            String numeroCompte, LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    @Query(SELECT_LIGNE + "WHERE t.compte.numeroCompte = :numeroCompte " +
+            "AND t.dateOperation BETWEEN :startDate AND :endDate ORDER BY t.dateOperation, t.id")
+    List<TransactionLigne> findByCompteNumeroCompteAndDateOperationBetween(
+            @Param("numeroCompte") String numeroCompte,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Totaux par type d'un relevé sur une période, lus uniquement dans l'index couvrant
+     * idx_transactions_releve (compte_id, date_operation) INCLUDE (type, statut, montant).
+     */
+    @Query("SELECT new com.ega.bank_system.dto.TotalParTypeDTO(t.type, COUNT(t), SUM(t.montant)) " +
+            "FROM Transaction t WHERE t.compte.numeroCompte = :numeroCompte " +
+            "AND t.dateOperation BETWEEN :debut AND :fin AND t.statut = :statut " +
+            "GROUP BY t.type ORDER BY t.type")
+    List<TotalParTypeDTO> totauxParType(@Param("numeroCompte") String numeroCompte,
+                                        @Param("debut") LocalDateTime debut,
+                                        @Param("fin") LocalDateTime fin,
+                                        @Param("statut") StatutTransaction statut);
+
+    /**
+     * Nombre et montant par jour et par type sur une période, tous comptes confondus
+     * (parcours de l'index idx_transactions_date_operation sur l'intervalle [debut, fin[).
+     */
+    @Query("SELECT new com.ega.bank_system.dto.VolumeJourDTO(cast(t.dateOperation as LocalDate), t.type, " +
+            "COUNT(t), SUM(t.montant)) FROM Transaction t " +
+            "WHERE t.dateOperation >= :debut AND t.dateOperation < :fin AND t.statut = :statut " +
+            "GROUP BY cast(t.dateOperation as LocalDate), t.type " +
+            "ORDER BY cast(t.dateOperation as LocalDate), t.type")
+    List<VolumeJourDTO> volumesParJour(@Param("debut") LocalDateTime debut,
+                                       @Param("fin") LocalDateTime fin,
+                                       @Param("statut") StatutTransaction statut);
+
+    /**
+     * Dernières opérations tous comptes confondus, lues à rebours sur idx_transactions_date_operation.
+     */
+    @Query(SELECT_LIGNE + "ORDER BY t.dateOperation DESC, t.id DESC")
+    List<TransactionLigne> findRecentes(Limit limit);
+
+    /**
+     * Nombre d'opérations en attente, compté dans l'index partiel idx_transactions_en_attente.
+     */
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.statut = com.ega.bank_system.enums.StatutTransaction.EN_ATTENTE")
+    long countEnAttente();
+
+    /**
+     * Première page de l'historique d'un compte, parcourue sur l'index (compte_id, date_operation, id).
+     */
+    @Query(SELECT_LIGNE + "WHERE t.compte.numeroCompte = :numeroCompte " +
+            "ORDER BY t.dateOperation DESC, t.id DESC")
+    List<TransactionLigne> findHistorique(@Param("numeroCompte") String numeroCompte, Limit limit);
+
+    /**
+     * Page suivante : reprise strictement après la position (dateOperation, id) du curseur,
+     * sans OFFSET, donc au même coût quelle que soit la profondeur.
+     */
+    @Query(SELECT_LIGNE + "WHERE t.compte.numeroCompte = :numeroCompte " +
+            "AND (t.dateOperation, t.id) < (:dateOperation, :id) " +
+            "ORDER BY t.dateOperation DESC, t.id DESC")
+    List<TransactionLigne> findHistoriqueApres(@Param("numeroCompte") String numeroCompte,
+                                               @Param("dateOperation") LocalDateTime dateOperation,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    /**
+     * Première page du journal filtré, du plus récent au plus ancien (index idx_transactions_date_operation).
+     */
+    @Query(SELECT_JOURNAL + FILTRE_JOURNAL + "ORDER BY t.dateOperation DESC, t.id DESC")
+    List<TransactionJournalLigne> findJournal(@Param("types") Collection<TypeTransaction> types,
+                                              @Param("statuts") Collection<StatutTransaction> statuts,
+                                              @Param("debut") LocalDateTime debut,
+                                              @Param("fin") LocalDateTime fin,
+                                              @Param("motif") String motif,
+                                              Limit limit);
+
+    /**
+     * Page suivante du journal, reprise strictement après la position (dateOperation, id) du curseur.
+     */
+    @Query(SELECT_JOURNAL + FILTRE_JOURNAL + "AND (t.dateOperation, t.id) < (:dateOperation, :id) " +
+            "ORDER BY t.dateOperation DESC, t.id DESC")
+    List<TransactionJournalLigne> findJournalApres(@Param("types") Collection<TypeTransaction> types,
+                                                   @Param("statuts") Collection<StatutTransaction> statuts,
+                                                   @Param("debut") LocalDateTime debut,
+                                                   @Param("fin") LocalDateTime fin,
+                                                   @Param("motif") String motif,
+                                                   @Param("dateOperation") LocalDateTime dateOperation,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    /**
+     * Totaux par type des opérations validées du journal filtré.
+     */
+    @Query("SELECT new com.ega.bank_system.dto.TotalParTypeDTO(t.type, COUNT(t), SUM(t.montant)) " + FROM_JOURNAL +
+            FILTRE_JOURNAL + "AND t.statut = com.ega.bank_system.enums.StatutTransaction.VALIDEE " +
+            "GROUP BY t.type ORDER BY t.type")
+    List<TotalParTypeDTO> totauxJournal(@Param("types") Collection<TypeTransaction> types,
+                                        @Param("statuts") Collection<StatutTransaction> statuts,
+                                        @Param("debut") LocalDateTime debut,
+                                        @Param("fin") LocalDateTime fin,
+                                        @Param("motif") String motif);
+
+    /**
+     * Historique complet d'un compte pour export, du plus récent au plus ancien,
+     * par curseur serveur (lots de 500) à consommer dans une transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_LIGNE + "WHERE t.compte.numeroCompte = :numeroCompte ORDER BY t.dateOperation DESC, t.id DESC")
+    Stream<TransactionLigne> streamHistorique(@Param("numeroCompte") String numeroCompte);
+}
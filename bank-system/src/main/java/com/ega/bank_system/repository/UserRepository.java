@@ -2,8 +2,12 @@ package com.ega.bank_system.repository;
 
 import com.ega.bank_system.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,5 +23,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.username, u.tokensRevokedBefore FROM User u WHERE u.tokensRevokedBefore > :seuil")
+    List<Object[]> findRevocationsTokensDepuis(@Param("seuil") Instant seuil);
 }
 
@@ -1,51 +1,299 @@
 package com.ega.bank_system.security;
 
+import com.ega.bank_system.entity.RevokedToken;
+import com.ega.bank_system.enums.TypeRevocation;
+import com.ega.bank_system.util.BloomFilter;
+import com.ega.bank_system.util.Empreinte;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
 
 /**
  * Stocke les tokens JWT invalidés pour permettre une révocation immédiate.
- * Implémentation en mémoire : pour la prod, préférer Redis ou une table dédiée.
+ * Chaque token révoqué est réduit à l'empreinte 64 bits de son identifiant (jti), rangée dans
+ * une table à adressage ouvert de longs : la consultation depuis le filtre ne fait aucune allocation
+ * et passe le plus souvent en lecture optimiste, sans verrou.
+ * Les empreintes sont aussi classées par tranche d'expiration de 10 s : la purge ne parcourt
+ * que les tranches échues, jamais l'ensemble des révocations.
+ * Chaque révocation est aussi écrite dans le {@link RevocationStore} partagé ; les révocations faites
+ * sur les autres instances sont appliquées ici par {@link RevocationSynchronizer}. Un filtre de Bloom
+ * placé devant la table répond au cas courant « non révoqué » sans même sonder la table.
  */
 @Service
 public class BlacklistService {
 
-    // token -> expiration epoch millis
-    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private static final long LARGEUR_TRANCHE_MS = 10_000;
+    private static final int CAPACITE_INITIALE = 1024;
+    private static final long VIDE = 0L;
+    private static final long SUPPRIME = Long.MIN_VALUE;
+    private static final double TAUX_FAUX_POSITIFS = 0.001;
+
+    private final RevocationStore revocationStore;
+    private final long capaciteFiltre;
+    private final LongSupplier horloge;
+
+    private final StampedLock verrou = new StampedLock();
+    // Protégés par le verrou : écritures sous verrou exclusif, lectures optimistes validées
+    private long[] table = new long[CAPACITE_INITIALE];
+    private int occupes;
+    private int vivants;
+    // numéro de tranche (fin de tranche / largeur) -> empreintes expirant dans la tranche
+    private final TreeMap<Long, Tranche> tranches = new TreeMap<>();
+    // Reconstruit à la purge : un filtre de Bloom ne permet pas de retirer une empreinte
+    private volatile BloomFilter filtre;
+    private long retireesDuFiltre;
+
+    @Autowired
+    public BlacklistService(RevocationStore revocationStore,
+                            @Value("${app.security.revocation.filter-capacity:100000}") long capaciteFiltre) {
+        this(revocationStore, capaciteFiltre, System::currentTimeMillis);
+    }
 
     /**
-     * Ajoute un token à la blacklist jusqu'à son expiration.
+     * @param horloge heure courante en millisecondes, remplaçable dans les tests
      */
-    public void revoke(String token, long expiresAtMillis) {
-        revokedTokens.put(token, expiresAtMillis);
+    BlacklistService(RevocationStore revocationStore, long capaciteFiltre, LongSupplier horloge) {
+        this.revocationStore = revocationStore;
+        this.capaciteFiltre = capaciteFiltre;
+        this.horloge = horloge;
+        this.filtre = new BloomFilter(capaciteFiltre, TAUX_FAUX_POSITIFS);
     }
 
     /**
-     * Vérifie si le token est blacklisté.
+     * Révoque le token jusqu'à son expiration.
      */
-    public boolean isRevoked(String token) {
-        Long exp = revokedTokens.get(token);
-        if (exp == null) {
-            return false;
+    public void revoke(Claims claims, String token) {
+        revoke(cleRevocation(claims, token), claims.getExpiration().getTime());
+    }
+
+    /**
+     * Vérifie si le token (déjà vérifié) est révoqué.
+     */
+    public boolean isRevoked(Claims claims, String token) {
+        return isRevoked(cleRevocation(claims, token));
+    }
+
+    /**
+     * Ajoute un identifiant de token à la blacklist jusqu'à son expiration, sur toutes les instances.
+     */
+    public void revoke(String cle, long expiresAtMillis) {
+        if (expiresAtMillis <= horloge.getAsLong()) {
+            return;
         }
-        if (exp < Instant.now().toEpochMilli()) {
-            revokedTokens.remove(token);
+        long empreinte = empreinte(cle);
+        revocationStore.enregistrer(RevokedToken.builder()
+                .type(TypeRevocation.TOKEN)
+                .empreinte(empreinte)
+                .expiration(Instant.ofEpochMilli(expiresAtMillis))
+                .build());
+        appliquer(empreinte, expiresAtMillis);
+    }
+
+    /**
+     * Applique localement une révocation (faite ici ou relue depuis le stockage partagé).
+     */
+    void appliquer(long empreinte, long expiresAtMillis) {
+        if (expiresAtMillis <= horloge.getAsLong()) {
+            return;
+        }
+        long stamp = verrou.writeLock();
+        try {
+            if (inserer(empreinte)) {
+                filtre.putEmpreinte(empreinte);
+                tranches.computeIfAbsent(expiresAtMillis / LARGEUR_TRANCHE_MS + 1, k -> new Tranche())
+                        .ajouter(empreinte);
+            }
+        } finally {
+            verrou.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Vérifie si l'identifiant de token est blacklisté.
+     */
+    public boolean isRevoked(String cle) {
+        long empreinte = empreinte(cle);
+        if (!filtre.mightContainEmpreinte(empreinte)) {
             return false;
         }
-        return true;
+        long stamp = verrou.tryOptimisticRead();
+        boolean revoque = contient(table, empreinte);
+        if (!verrou.validate(stamp)) {
+            stamp = verrou.readLock();
+            try {
+                revoque = contient(table, empreinte);
+            } finally {
+                verrou.unlockRead(stamp);
+            }
+        }
+        return revoque;
     }
 
     /**
-     * Nettoyage périodique des tokens expirés pour limiter la mémoire.
+     * Nettoyage périodique des tranches échues.
      */
-    @Scheduled(fixedDelay = 60_000)
+    @Scheduled(fixedDelay = LARGEUR_TRANCHE_MS)
     public void purgeExpired() {
-        long now = Instant.now().toEpochMilli();
-        revokedTokens.entrySet().removeIf(entry -> entry.getValue() < now);
+        long now = horloge.getAsLong();
+        long stamp = verrou.writeLock();
+        try {
+            Map.Entry<Long, Tranche> echue;
+            while ((echue = tranches.firstEntry()) != null && echue.getKey() * LARGEUR_TRANCHE_MS <= now) {
+                tranches.pollFirstEntry();
+                Tranche tranche = echue.getValue();
+                for (int i = 0; i < tranche.taille; i++) {
+                    supprimer(tranche.empreintes[i]);
+                }
+                retireesDuFiltre += tranche.taille;
+            }
+            // Reconstruction amortie : seulement quand le filtre contient plus d'empreintes échues que vivantes
+            if (retireesDuFiltre > vivants && retireesDuFiltre > 0) {
+                reconstruireFiltre();
+            }
+        } finally {
+            verrou.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Nombre de révocations actives.
+     */
+    public int size() {
+        long stamp = verrou.readLock();
+        try {
+            return vivants;
+        } finally {
+            verrou.unlockRead(stamp);
+        }
+    }
+
+    private void reconstruireFiltre() {
+        BloomFilter nouveau = new BloomFilter(Math.max(capaciteFiltre, vivants * 2L), TAUX_FAUX_POSITIFS);
+        for (long valeur : table) {
+            if (valeur != VIDE && valeur != SUPPRIME) {
+                nouveau.putEmpreinte(valeur);
+            }
+        }
+        filtre = nouveau;
+        retireesDuFiltre = 0;
+    }
+
+    // Les tokens émis avant l'ajout du jti sont révoqués sur le token entier
+    private static String cleRevocation(Claims claims, String token) {
+        String jti = claims.getId();
+        return jti != null ? jti : token;
     }
-}
 
+    static long empreinte(String cle) {
+        long empreinte = Empreinte.de(cle);
+        // 0 et Long.MIN_VALUE marquent les cases vides et supprimées
+        return empreinte == VIDE || empreinte == SUPPRIME ? 1L : empreinte;
+    }
+
+    private static int indice(long empreinte, int masque) {
+        return (int) (empreinte ^ (empreinte >>> 32)) & masque;
+    }
+
+    private static boolean contient(long[] cases, long empreinte) {
+        int masque = cases.length - 1;
+        int i = indice(empreinte, masque);
+        for (int sondes = 0; sondes < cases.length; sondes++) {
+            long valeur = cases[i];
+            if (valeur == VIDE) {
+                return false;
+            }
+            if (valeur == empreinte) {
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+        return false;
+    }
+
+    private boolean inserer(long empreinte) {
+        if ((occupes + 1) * 2 > table.length) {
+            redimensionner();
+        }
+        int masque = table.length - 1;
+        int i = indice(empreinte, masque);
+        int libre = -1;
+        while (true) {
+            long valeur = table[i];
+            if (valeur == empreinte) {
+                return false;
+            }
+            if (valeur == SUPPRIME && libre < 0) {
+                libre = i;
+            } else if (valeur == VIDE) {
+                if (libre < 0) {
+                    libre = i;
+                    occupes++;
+                }
+                table[libre] = empreinte;
+                vivants++;
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+    }
+
+    private void supprimer(long empreinte) {
+        int masque = table.length - 1;
+        int i = indice(empreinte, masque);
+        for (int sondes = 0; sondes < table.length; sondes++) {
+            long valeur = table[i];
+            if (valeur == VIDE) {
+                return;
+            }
+            if (valeur == empreinte) {
+                table[i] = SUPPRIME;
+                vivants--;
+                return;
+            }
+            i = (i + 1) & masque;
+        }
+    }
+
+    // Double la table si elle est vraiment pleine, sinon la reconstruit pour éliminer les cases supprimées
+    private void redimensionner() {
+        int capacite = table.length;
+        while ((vivants + 1) * 4 > capacite) {
+            capacite <<= 1;
+        }
+        long[] ancienne = table;
+        long[] nouvelle = new long[capacite];
+        int masque = capacite - 1;
+        for (long valeur : ancienne) {
+            if (valeur != VIDE && valeur != SUPPRIME) {
+                int i = indice(valeur, masque);
+                while (nouvelle[i] != VIDE) {
+                    i = (i + 1) & masque;
+                }
+                nouvelle[i] = valeur;
+            }
+        }
+        table = nouvelle;
+        occupes = vivants;
+    }
+
+    private static final class Tranche {
+        private long[] empreintes = new long[16];
+        private int taille;
+
+        private void ajouter(long empreinte) {
+            if (taille == empreintes.length) {
+                empreintes = Arrays.copyOf(empreintes, taille * 2);
+            }
+            empreintes[taille++] = empreinte;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.exception.ServiceSatureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exécute le hachage et la vérification des mots de passe (BCrypt) sur un pool dédié et borné,
+ * hors des threads servlet. Le pool n'occupe qu'une partie des cœurs et sa file est limitée :
+ * un afflux de connexions est refusé (ServiceSatureException) au lieu d'affamer les autres endpoints.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegue;
+    private final ThreadPoolExecutor executeur;
+    private final long attenteMaxMs;
+    private final long retryAfterSecondes;
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder rejets = new LongAdder();
+    private final LongAdder dureeTotaleNanos = new LongAdder();
+    private final LongAccumulator dureeMaxNanos = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegue, int threads, int capaciteFile,
+                                  long attenteMaxMs, long retryAfterSecondes) {
+        this.delegue = delegue;
+        this.attenteMaxMs = attenteMaxMs;
+        this.retryAfterSecondes = retryAfterSecondes;
+        AtomicInteger compteur = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capaciteFile), r -> {
+                    Thread thread = new Thread(r, "password-hash-" + compteur.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executer(() -> delegue.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executer(() -> delegue.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegue.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Instantané des métriques du pool de hachage.
+     */
+    public Map<String, Object> metriques() {
+        long total = operations.sum();
+        Map<String, Object> metriques = new LinkedHashMap<>();
+        metriques.put("threads", executeur.getMaximumPoolSize());
+        metriques.put("actifs", executeur.getActiveCount());
+        metriques.put("fileAttente", executeur.getQueue().size());
+        metriques.put("capaciteFile", executeur.getQueue().size() + executeur.getQueue().remainingCapacity());
+        metriques.put("operations", total);
+        metriques.put("rejets", rejets.sum());
+        metriques.put("dureeMoyenneMs", total == 0 ? 0 : dureeTotaleNanos.sum() / total / 1_000_000.0);
+        metriques.put("dureeMaxMs", dureeMaxNanos.get() / 1_000_000);
+        return metriques;
+    }
+
+    public void arreter() {
+        executeur.shutdownNow();
+    }
+
+    private <T> T executer(Callable<T> hachage) {
+        Future<T> futur;
+        try {
+            futur = executeur.submit(() -> {
+                long debut = System.nanoTime();
+                try {
+                    return hachage.call();
+                } finally {
+                    long duree = System.nanoTime() - debut;
+                    operations.increment();
+                    dureeTotaleNanos.add(duree);
+                    dureeMaxNanos.accumulate(duree);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejets.increment();
+            throw new ServiceSatureException("Trop de demandes d'authentification, veuillez réessayer", retryAfterSecondes);
+        }
+        try {
+            return futur.get(attenteMaxMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futur.cancel(true);
+            rejets.increment();
+            throw new ServiceSatureException("Délai d'authentification dépassé, veuillez réessayer", retryAfterSecondes);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceSatureException("Authentification interrompue", retryAfterSecondes);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ega.bank_system.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seaux à jetons sans verrou, selon l'algorithme GCRA : l'état d'une clé se réduit à un seul long
+ * (instant théorique d'arrivée de la prochaine requête), mis à jour par compare-and-set.
+ */
+@Component
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Map<String, AtomicLong> arriveesTheoriques = new ConcurrentHashMap<>();
+
+    @Override
+    public Decision acquerir(String cle, Limite limite) {
+        long maintenant = System.nanoTime();
+        AtomicLong arrivee = arriveesTheoriques.get(cle);
+        if (arrivee == null) {
+            AtomicLong nouvelle = new AtomicLong(maintenant);
+            arrivee = arriveesTheoriques.putIfAbsent(cle, nouvelle);
+            if (arrivee == null) {
+                arrivee = nouvelle;
+            }
+        }
+
+        long intervalle = limite.intervalleNanos();
+        long tolerance = limite.toleranceNanos();
+        while (true) {
+            long courante = arrivee.get();
+            long suivante = Math.max(courante, maintenant) + intervalle;
+            long autoriseeA = suivante - tolerance;
+            if (autoriseeA > maintenant) {
+                return new Decision(false, 0, autoriseeA - maintenant);
+            }
+            if (arrivee.compareAndSet(courante, suivante)) {
+                return new Decision(true, (maintenant + tolerance - suivante) / intervalle, 0);
+            }
+        }
+    }
+
+    /**
+     * Oublie les clés revenues à l'état initial (seau plein) pour borner la mémoire.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purger() {
+        long maintenant = System.nanoTime();
+        arriveesTheoriques.values().removeIf(arrivee -> arrivee.get() - maintenant < 0);
+    }
+}
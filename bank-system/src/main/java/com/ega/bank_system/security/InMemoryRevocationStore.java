@@ -0,0 +1,48 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.entity.RevokedToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Révocations en mémoire : instance unique ou tests (app.security.revocation-store=memory).
+ * Plusieurs services de révocation peuvent partager la même instance pour simuler un cluster.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.revocation-store", havingValue = "memory")
+public class InMemoryRevocationStore implements RevocationStore {
+
+    private final List<RevokedToken> revocations = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public synchronized void enregistrer(RevokedToken revocation) {
+        revocation.setId(sequence.incrementAndGet());
+        if (revocation.getEnregistreLe() == null) {
+            revocation.setEnregistreLe(Instant.now());
+        }
+        revocations.add(revocation);
+    }
+
+    @Override
+    public synchronized List<RevokedToken> findDepuis(Instant depuis) {
+        return revocations.stream().filter(r -> r.getEnregistreLe().isAfter(depuis)).toList();
+    }
+
+    @Override
+    public synchronized List<RevokedToken> findActives(Instant maintenant) {
+        return revocations.stream().filter(r -> r.getExpiration().isAfter(maintenant)).toList();
+    }
+
+    @Override
+    public synchronized int purger(Instant maintenant) {
+        int avant = revocations.size();
+        revocations.removeIf(r -> !r.getExpiration().isAfter(maintenant));
+        return avant - revocations.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.entity.RevokedToken;
+import com.ega.bank_system.repository.RevokedTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Révocations partagées via la table revoked_tokens (défaut).
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.revocation-store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRevocationStore implements RevocationStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate nouvelleTransaction;
+
+    public JpaRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.nouvelleTransaction = new TransactionTemplate(transactionManager);
+        this.nouvelleTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void enregistrer(RevokedToken revocation) {
+        nouvelleTransaction.executeWithoutResult(status -> revokedTokenRepository.save(revocation));
+    }
+
+    @Override
+    public List<RevokedToken> findDepuis(Instant depuis) {
+        return revokedTokenRepository.findByEnregistreLeAfter(depuis);
+    }
+
+    @Override
+    public List<RevokedToken> findActives(Instant maintenant) {
+        return revokedTokenRepository.findByExpirationAfter(maintenant);
+    }
+
+    @Override
+    public int purger(Instant maintenant) {
+        return nouvelleTransaction.execute(status -> revokedTokenRepository.supprimerExpirees(maintenant));
+    }
+}
@@ -1,5 +1,6 @@
 package com.ega.bank_system.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +11,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,8 +25,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
     private final BlacklistService blacklistService;
+    private final TokenWatermarkService tokenWatermarkService;
 
     @Override
     protected void doFilterInternal(
@@ -48,7 +49,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // Vérifier si le header Authorization existe et commence par "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -58,29 +58,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Extraire le token
         jwt = authHeader.substring(7);
-        // Vérifier blacklist avant de charger l'utilisateur
-        if (blacklistService.isRevoked(jwt)) {
+
+        // Valider le token en une seule passe (signature et expiration) : un token invalide
+        // laisse la requête poursuivre sans authentification
+        final Claims claims = jwtService.validateToken(jwt);
+
+        // Vérifier blacklist (par jti) et révocation globale de l'utilisateur avant de le charger
+        if (claims != null && (blacklistService.isRevoked(claims, jwt)
+                || tokenWatermarkService.isRevoked(claims))) {
             response.setStatus(HttpStatus.UNAUTHORIZED.value());
             return;
         }
-        username = jwtService.extractUsername(jwt);
+        final String username = claims != null ? claims.getSubject() : null;
 
         // Si l'utilisateur n'est pas encore authentifié
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // Principal en cache ou construit depuis les claims : pas de lecture base à chaque requête
+            UserDetails userDetails = userPrincipalCache.resoudre(claims);
 
-            // Valider le token
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
@@ -1,26 +1,43 @@
 package com.ega.bank_system.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
- * Service pour la gestion des tokens JWT
+ * Service pour la gestion des tokens JWT.
+ * La clé et le parseur sont construits une seule fois. Les claims déjà vérifiées sont gardées
+ * dans un cache borné, indexé par l'empreinte SHA-256 du token et purgé à l'expiration :
+ * un token déjà vu ne repasse ni par le décodage ni par la vérification de signature.
  */
 @Service
 public class JwtService {
 
+    // Date d'émission à la milliseconde : iat est arrondi à la seconde par la norme JWT
+    public static final String CLAIM_EMISSION_MS = "iat_ms";
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
@@ -30,6 +47,73 @@ public class JwtService {
     @Value("${jwt.refresh.expiration:604800000}") // 7 jours par défaut
     private long refreshExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int tailleMaxCache;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    });
+
+    private Key signInKey;
+    private JwtParser parser;
+    private final Map<EmpreinteToken, ClaimsVerifiees> claimsVerifiees = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void initialiser() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    }
+
+    /**
+     * Vérifie le token en une seule passe (signature, format, expiration).
+     * Retourne ses claims, ou null si le token est invalide ou expiré.
+     */
+    public Claims validateToken(String token) {
+        EmpreinteToken empreinte = EmpreinteToken.de(token);
+        long maintenant = System.currentTimeMillis();
+
+        ClaimsVerifiees enCache = claimsVerifiees.get(empreinte);
+        if (enCache != null) {
+            if (enCache.expiration() > maintenant) {
+                return enCache.claims();
+            }
+            claimsVerifiees.remove(empreinte, enCache);
+            return null;
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            // Sans échéance, le token n'est pas mis en cache (la purge ne saurait pas quand l'évincer)
+            return claims;
+        }
+        if (claimsVerifiees.size() >= tailleMaxCache) {
+            purgeExpiredClaims();
+        }
+        if (claimsVerifiees.size() < tailleMaxCache) {
+            claimsVerifiees.putIfAbsent(empreinte, new ClaimsVerifiees(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * Évince périodiquement les claims de tokens expirés.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpiredClaims() {
+        long maintenant = System.currentTimeMillis();
+        claimsVerifiees.values().removeIf(entree -> entree.expiration() <= maintenant);
+    }
+
     /**
      * Extrait le nom d'utilisateur du token
      */
@@ -49,7 +133,7 @@ public class JwtService {
      * Génère un token pour l'utilisateur
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return generateToken(claimsRole(userDetails), userDetails);
     }
 
     /**
@@ -63,7 +147,43 @@ public class JwtService {
      * Génère un refresh token
      */
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        return generateRefreshToken(userDetails, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Génère un refresh token portant l'identifiant (jti) donné, pour le suivi de rotation
+     */
+    public String generateRefreshToken(UserDetails userDetails, String jti) {
+        return buildToken(claimsRole(userDetails), userDetails, refreshExpiration, jti);
+    }
+
+    /**
+     * Durée de validité des refresh tokens, en millisecondes
+     */
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    /**
+     * Rôle de l'utilisateur (autorité "ROLE_x" sans son préfixe), ou null
+     */
+    public static String extractRole(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring(5))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Rôle embarqué pour construire le principal sans lecture (app.security.principal-source=JWT)
+    private static Map<String, Object> claimsRole(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        String role = extractRole(userDetails);
+        if (role != null) {
+            claims.put(UserPrincipalCache.CLAIM_ROLE, role);
+        }
+        return claims;
     }
 
     /**
@@ -74,13 +194,25 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        return buildToken(extraClaims, userDetails, expiration, UUID.randomUUID().toString());
+    }
+
+    private String buildToken(
+            Map<String, Object> extraClaims,
+            UserDetails userDetails,
+            long expiration,
+            String jti
+    ) {
+        long maintenant = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .claim(CLAIM_EMISSION_MS, maintenant)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setId(jti)
+                .setIssuedAt(new Date(maintenant))
+                .setExpiration(new Date(maintenant + expiration))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -88,15 +220,8 @@ public class JwtService {
      * Valide le token
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Vérifie si le token est expiré
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = validateToken(token);
+        return claims != null && userDetails.getUsername().equals(claims.getSubject());
     }
 
     /**
@@ -111,19 +236,21 @@ public class JwtService {
      * Extrait toutes les claims du token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private record ClaimsVerifiees(Claims claims, long expiration) {
     }
 
     /**
-     * Récupère la clé de signature
+     * Empreinte SHA-256 du token : le token lui-même n'est pas conservé en mémoire.
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record EmpreinteToken(long a, long b, long c, long d) {
+
+        static EmpreinteToken de(String token) {
+            MessageDigest sha = SHA_256.get();
+            ByteBuffer empreinte = ByteBuffer.wrap(sha.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new EmpreinteToken(empreinte.getLong(), empreinte.getLong(), empreinte.getLong(), empreinte.getLong());
+        }
     }
 }
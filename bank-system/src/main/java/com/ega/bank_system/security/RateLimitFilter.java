@@ -0,0 +1,170 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.enums.Role;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Limitation de débit par utilisateur (ou par adresse pour les appels anonymes) et par groupe de routes,
+ * placée après le filtre JWT pour connaître l'utilisateur et son rôle.
+ * Limites configurables par groupe et par rôle :
+ * app.rate-limit.&lt;groupe&gt;.&lt;role&gt;.per-minute et .burst (ex. app.rate-limit.recherche.agent.per-minute=60).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum GroupeRoute {
+        // Connexion et rafraîchissement sont anonymes : toute une agence derrière un même NAT partage
+        // la limite par adresse, d'où une rafale dédiée plutôt que 10 s de débit soutenu
+        AUTHENTIFICATION(20, 60, 60, 30),
+        RECHERCHE(60, 120, 30),
+        HISTORIQUE(120, 240, 30),
+        OPERATIONS(300, 600, 60),
+        DEFAUT(600, 1200, 120);
+
+        private final int parMinuteAgent;
+        private final int parMinuteAdmin;
+        private final int parMinuteAnonyme;
+        private final int rafaleAnonyme;
+
+        GroupeRoute(int parMinuteAgent, int parMinuteAdmin, int parMinuteAnonyme) {
+            this(parMinuteAgent, parMinuteAdmin, parMinuteAnonyme, rafaleParDefaut(parMinuteAnonyme));
+        }
+
+        GroupeRoute(int parMinuteAgent, int parMinuteAdmin, int parMinuteAnonyme, int rafaleAnonyme) {
+            this.parMinuteAgent = parMinuteAgent;
+            this.parMinuteAdmin = parMinuteAdmin;
+            this.parMinuteAnonyme = parMinuteAnonyme;
+            this.rafaleAnonyme = rafaleAnonyme;
+        }
+    }
+
+    private static final String ANONYME = "anonyme";
+
+    private final RateLimiter rateLimiter;
+    private final boolean actif;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<GroupeRoute, Map<String, RateLimiter.Limite>> limites = new EnumMap<>(GroupeRoute.class);
+
+    public RateLimitFilter(RateLimiter rateLimiter, Environment environment) {
+        this.rateLimiter = rateLimiter;
+        this.actif = environment.getProperty("app.rate-limit.enabled", Boolean.class, true);
+        for (GroupeRoute groupe : GroupeRoute.values()) {
+            Map<String, RateLimiter.Limite> parRole = new HashMap<>();
+            parRole.put(Role.AGENT.name(), limite(environment, groupe, Role.AGENT.name(),
+                    groupe.parMinuteAgent, rafaleParDefaut(groupe.parMinuteAgent)));
+            parRole.put(Role.ADMIN.name(), limite(environment, groupe, Role.ADMIN.name(),
+                    groupe.parMinuteAdmin, rafaleParDefaut(groupe.parMinuteAdmin)));
+            parRole.put(ANONYME, limite(environment, groupe, ANONYME, groupe.parMinuteAnonyme, groupe.rafaleAnonyme));
+            limites.put(groupe, parRole);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !actif || !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        GroupeRoute groupe = groupe(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        String role = ANONYME;
+        String identite;
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+                && !"anonymousUser".equals(authentication.getName())) {
+            role = role(authentication);
+            identite = "u:" + authentication.getName();
+        } else {
+            identite = "ip:" + request.getRemoteAddr();
+        }
+
+        RateLimiter.Limite limite = limites.get(groupe).get(role);
+        RateLimiter.Decision decision = rateLimiter.acquerir(identite + ':' + groupe.name(), limite);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(limite.parMinute()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.restants()));
+        if (!decision.autorisee()) {
+            long secondes = Math.max(1, (decision.attenteNanos() + 999_999_999L) / 1_000_000_000L);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(secondes));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Trop de requêtes, veuillez réessayer dans " + secondes + " s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private GroupeRoute groupe(HttpServletRequest request) {
+        String chemin = request.getServletPath();
+        String methode = request.getMethod();
+        if (chemin.startsWith("/api/v1/auth/login") || chemin.startsWith("/api/v1/auth/refresh")) {
+            return GroupeRoute.AUTHENTIFICATION;
+        }
+        if (chemin.startsWith("/api/v1/clients/search")
+                || ("GET".equals(methode) && (chemin.equals("/api/v1/clients") || chemin.equals("/api/v1/comptes")
+                || matcher.match("/api/v1/comptes/type/*", chemin)))) {
+            return GroupeRoute.RECHERCHE;
+        }
+        if ("GET".equals(methode) && chemin.startsWith("/api/v1/transactions")
+                || matcher.match("/api/v1/comptes/*/transactions/**", chemin)
+                || matcher.match("/api/v1/comptes/*/transactions", chemin)) {
+            return GroupeRoute.HISTORIQUE;
+        }
+        if ("POST".equals(methode) && (chemin.equals("/api/v1/comptes/virement")
+                || matcher.match("/api/v1/comptes/*/depot", chemin)
+                || matcher.match("/api/v1/comptes/*/retrait", chemin))) {
+            return GroupeRoute.OPERATIONS;
+        }
+        return GroupeRoute.DEFAUT;
+    }
+
+    // Le rôle le plus généreux l'emporte ; un rôle inconnu est traité comme AGENT
+    private static String role(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (("ROLE_" + Role.ADMIN.name()).equals(authority.getAuthority())) {
+                return Role.ADMIN.name();
+            }
+        }
+        return Role.AGENT.name();
+    }
+
+    // Rafale par défaut : 10 s de débit soutenu
+    private static int rafaleParDefaut(int parMinute) {
+        return Math.max(1, parMinute / 6);
+    }
+
+    private static RateLimiter.Limite limite(Environment environment, GroupeRoute groupe, String role,
+                                             int parMinuteDefaut, int rafaleDefaut) {
+        String prefixe = "app.rate-limit." + groupe.name().toLowerCase(Locale.ROOT) + "." + role.toLowerCase(Locale.ROOT);
+        int parMinute = environment.getProperty(prefixe + ".per-minute", Integer.class, parMinuteDefaut);
+        int rafale = environment.getProperty(prefixe + ".burst", Integer.class,
+                environment.containsProperty(prefixe + ".per-minute") ? rafaleParDefaut(parMinute) : rafaleDefaut);
+        return new RateLimiter.Limite(Math.max(1, parMinute), Math.max(1, rafale));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ega.bank_system.security;
+
+/**
+ * Limitation de débit par clé (utilisateur ou adresse, et groupe de routes).
+ * L'implémentation en mémoire suffit pour une instance ; une implémentation partagée
+ * (Redis, Postgres...) peut la remplacer sans toucher au filtre.
+ */
+public interface RateLimiter {
+
+    /**
+     * Consomme un jeton pour la clé si la limite le permet.
+     */
+    Decision acquerir(String cle, Limite limite);
+
+    /**
+     * Débit soutenu autorisé et rafale tolérée au-delà.
+     */
+    record Limite(int parMinute, int rafale) {
+
+        public long intervalleNanos() {
+            return 60_000_000_000L / parMinute;
+        }
+
+        public long toleranceNanos() {
+            return intervalleNanos() * rafale;
+        }
+    }
+
+    /**
+     * Résultat d'une tentative : jetons restants, ou délai avant le prochain jeton si refusée.
+     */
+    record Decision(boolean autorisee, long restants, long attenteNanos) {
+    }
+}
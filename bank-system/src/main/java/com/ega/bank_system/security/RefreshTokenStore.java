@@ -0,0 +1,84 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.util.Empreinte;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suivi des refresh tokens émis par cette instance, pour leur rotation :
+ * chaque refresh token n'est utilisable qu'une fois, et sa réutilisation trahit un vol.
+ * Indexé par l'empreinte 64 bits du jti ; conserve ce qu'il faut pour réémettre les tokens
+ * sans lecture base (nom d'utilisateur et rôle).
+ * Un jti inconnu (émis par une autre instance ou avant un redémarrage) n'est pas refusé :
+ * l'appelant retombe sur une lecture de l'utilisateur.
+ */
+@Component
+public class RefreshTokenStore {
+
+    public enum Statut {
+        VALIDE,
+        INCONNU,
+        REUTILISE
+    }
+
+    public record Consommation(Statut statut, String username, String role) {
+    }
+
+    private static final Consommation INCONNU = new Consommation(Statut.INCONNU, null, null);
+
+    private final int tailleMax;
+    private final Map<Long, Entree> jetons = new ConcurrentHashMap<>();
+
+    public RefreshTokenStore(@Value("${app.security.refresh-store.max-size:100000}") int tailleMax) {
+        this.tailleMax = tailleMax;
+    }
+
+    /**
+     * Enregistre un refresh token qui vient d'être émis.
+     */
+    public void enregistrer(String jti, String username, String role, long expiration) {
+        if (jetons.size() >= tailleMax) {
+            purgeExpired();
+        }
+        if (jetons.size() < tailleMax) {
+            jetons.put(Empreinte.de(jti), new Entree(username, role, expiration, false));
+        }
+    }
+
+    /**
+     * Consomme le refresh token : valide une seule fois, réutilisation signalée ensuite.
+     */
+    public Consommation consommer(String jti) {
+        long cle = Empreinte.de(jti);
+        while (true) {
+            Entree entree = jetons.get(cle);
+            if (entree == null || entree.expiration() <= System.currentTimeMillis()) {
+                return INCONNU;
+            }
+            if (entree.consomme()) {
+                return new Consommation(Statut.REUTILISE, entree.username(), entree.role());
+            }
+            // Gardé jusqu'à son expiration, marqué consommé, pour détecter une réutilisation
+            if (jetons.replace(cle, entree, entree.consommer())) {
+                return new Consommation(Statut.VALIDE, entree.username(), entree.role());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long maintenant = System.currentTimeMillis();
+        jetons.values().removeIf(entree -> entree.expiration() <= maintenant);
+    }
+
+    private record Entree(String username, String role, long expiration, boolean consomme) {
+
+        private Entree consommer() {
+            return new Entree(username, role, expiration, true);
+        }
+    }
+}
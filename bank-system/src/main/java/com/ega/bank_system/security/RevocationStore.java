@@ -0,0 +1,32 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.entity.RevokedToken;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stockage partagé des révocations, relu périodiquement par chaque instance.
+ */
+public interface RevocationStore {
+
+    /**
+     * Enregistre durablement la révocation, indépendamment de toute transaction en cours.
+     */
+    void enregistrer(RevokedToken revocation);
+
+    /**
+     * Révocations enregistrées après la date donnée.
+     */
+    List<RevokedToken> findDepuis(Instant depuis);
+
+    /**
+     * Révocations encore actives (non expirées).
+     */
+    List<RevokedToken> findActives(Instant maintenant);
+
+    /**
+     * Supprime les révocations expirées ; retourne le nombre de lignes supprimées.
+     */
+    int purger(Instant maintenant);
+}
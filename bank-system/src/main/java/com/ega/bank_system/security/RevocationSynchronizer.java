@@ -0,0 +1,69 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.entity.RevokedToken;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Propage aux caches locaux les révocations faites sur les autres instances.
+ * Le stockage partagé est relu périodiquement avec un chevauchement (décalage d'horloge
+ * entre instances, transactions validées dans le désordre) ; l'application est idempotente.
+ */
+@Slf4j
+@Component
+public class RevocationSynchronizer {
+
+    private final RevocationStore revocationStore;
+    private final BlacklistService blacklistService;
+    private final TokenWatermarkService tokenWatermarkService;
+    private final long chevauchementMs;
+
+    private volatile Instant dernierPassage;
+
+    public RevocationSynchronizer(RevocationStore revocationStore,
+                                  BlacklistService blacklistService,
+                                  TokenWatermarkService tokenWatermarkService,
+                                  @Value("${app.security.revocation.overlap-ms:30000}") long chevauchementMs) {
+        this.revocationStore = revocationStore;
+        this.blacklistService = blacklistService;
+        this.tokenWatermarkService = tokenWatermarkService;
+        this.chevauchementMs = chevauchementMs;
+    }
+
+    @PostConstruct
+    void charger() {
+        Instant debut = Instant.now();
+        List<RevokedToken> actives = revocationStore.findActives(debut);
+        actives.forEach(this::appliquer);
+        dernierPassage = debut;
+        log.info("{} révocations partagées chargées", actives.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-ms:2000}")
+    public void synchroniser() {
+        Instant debut = Instant.now();
+        revocationStore.findDepuis(dernierPassage.minusMillis(chevauchementMs)).forEach(this::appliquer);
+        dernierPassage = debut;
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purger() {
+        int supprimees = revocationStore.purger(Instant.now());
+        if (supprimees > 0) {
+            log.debug("{} révocations expirées purgées", supprimees);
+        }
+    }
+
+    private void appliquer(RevokedToken revocation) {
+        switch (revocation.getType()) {
+            case TOKEN -> blacklistService.appliquer(revocation.getEmpreinte(), revocation.getExpiration().toEpochMilli());
+            case UTILISATEUR -> tokenWatermarkService.appliquer(revocation.getUsername(), revocation.getRevoqueAvant());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.entity.RevokedToken;
+import com.ega.bank_system.entity.User;
+import com.ega.bank_system.enums.TypeRevocation;
+import com.ega.bank_system.exception.ResourceNotFoundException;
+import com.ega.bank_system.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Révocation globale des tokens d'un utilisateur : tout token émis (iat) avant la date
+ * de révocation de l'utilisateur est refusé. Une seule écriture invalide tous ses tokens
+ * en cours, sans aucune entrée dans la blacklist.
+ * La date est persistée sur l'utilisateur, gardée en mémoire pour le filtre et publiée
+ * dans le {@link RevocationStore} pour les autres instances.
+ */
+@Slf4j
+@Service
+public class TokenWatermarkService {
+
+    private final UserRepository userRepository;
+    private final RevocationStore revocationStore;
+    private final long dureeMaxTokenMs;
+
+    // username -> epoch millis : tokens émis avant refusés
+    private final Map<String, Long> revocations = new ConcurrentHashMap<>();
+
+    public TokenWatermarkService(UserRepository userRepository,
+                                 RevocationStore revocationStore,
+                                 @Value("${jwt.refresh.expiration:604800000}") long dureeMaxTokenMs) {
+        this.userRepository = userRepository;
+        this.revocationStore = revocationStore;
+        this.dureeMaxTokenMs = dureeMaxTokenMs;
+    }
+
+    @PostConstruct
+    void charger() {
+        // Au-delà de la durée de vie maximale d'un token, une révocation ne refuse plus rien
+        Instant seuil = Instant.now().minusMillis(dureeMaxTokenMs);
+        userRepository.findRevocationsTokensDepuis(seuil)
+                .forEach(ligne -> enregistrer((String) ligne[0], (Instant) ligne[1]));
+        log.info("{} révocations globales de tokens chargées", revocations.size());
+    }
+
+    /**
+     * Indique si le token portant ces claims a été révoqué globalement.
+     * La date d'émission à la milliseconde départage un token émis juste avant la révocation
+     * d'un token obtenu juste après (nouvelle connexion après un changement de mot de passe).
+     */
+    public boolean isRevoked(Claims claims) {
+        Long emission = claims.get(JwtService.CLAIM_EMISSION_MS, Long.class);
+        if (emission != null) {
+            return isRevoked(claims.getSubject(), new Date(emission));
+        }
+        // Token émis avant l'ajout de la claim : iat à la seconde, refusé s'il peut précéder la révocation
+        Long revocation = revocations.get(claims.getSubject());
+        Date issuedAt = claims.getIssuedAt();
+        return revocation != null && (issuedAt == null || issuedAt.getTime() <= revocation);
+    }
+
+    /**
+     * Indique si un token émis à {@code issuedAt} (à la milliseconde) pour cet utilisateur a été révoqué globalement.
+     */
+    public boolean isRevoked(String username, Date issuedAt) {
+        Long revocation = revocations.get(username);
+        return revocation != null && (issuedAt == null || issuedAt.getTime() < revocation);
+    }
+
+    /**
+     * Révoque tous les tokens émis jusqu'ici pour l'utilisateur (entité à enregistrer par l'appelant).
+     */
+    public void revokeAll(User user) {
+        // Comparée à la date d'émission à la milliseconde : un token émis juste après reste valide
+        Instant revocation = Instant.ofEpochMilli(System.currentTimeMillis());
+        user.setTokensRevokedBefore(revocation);
+        enregistrer(user.getUsername(), revocation);
+        publier(user.getUsername(), revocation);
+    }
+
+    /**
+     * Révoque tous les tokens de l'utilisateur donné.
+     */
+    @Transactional
+    public void revokeAll(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé: " + username));
+        revokeAll(user);
+        userRepository.save(user);
+    }
+
+    /**
+     * Applique localement une révocation globale relue depuis le stockage partagé.
+     */
+    void appliquer(String username, Instant revocation) {
+        enregistrer(username, revocation);
+    }
+
+    // Publiée après le commit de l'utilisateur : appelable depuis un callback JPA, en plein flush
+    private void publier(String username, Instant revocation) {
+        Runnable publication = () -> revocationStore.enregistrer(RevokedToken.builder()
+                .type(TypeRevocation.UTILISATEUR)
+                .username(username)
+                .revoqueAvant(revocation)
+                .expiration(revocation.plusMillis(dureeMaxTokenMs))
+                .build());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publication.run();
+                }
+            });
+        } else {
+            publication.run();
+        }
+    }
+
+    private void enregistrer(String username, Instant revocation) {
+        revocations.merge(username, revocation.toEpochMilli(), Math::max);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ega.bank_system.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résolution du principal des requêtes authentifiées par JWT, sans aller-retour base à chaque appel.
+ * <ul>
+ *     <li>CACHE : principal chargé une fois puis gardé en mémoire (borné, avec TTL), invalidé
+ *     à chaque modification de l'utilisateur ;</li>
+ *     <li>JWT : principal construit directement depuis la claim "role" du token, sans aucune lecture.
+ *     Un verrouillage ou une désactivation ne prend alors effet qu'à l'expiration du token.</li>
+ * </ul>
+ */
+@Component
+public class UserPrincipalCache {
+
+    public enum Source {
+        CACHE,
+        JWT
+    }
+
+    public static final String CLAIM_ROLE = "role";
+
+    private final UserDetailsService userDetailsService;
+    private final Source source;
+    private final long ttlMs;
+    private final int tailleMax;
+    private final Map<String, Entree> principaux = new ConcurrentHashMap<>();
+
+    public UserPrincipalCache(UserDetailsService userDetailsService,
+                              @Value("${app.security.principal-source:CACHE}") Source source,
+                              @Value("${app.security.principal-cache.ttl-ms:60000}") long ttlMs,
+                              @Value("${app.security.principal-cache.max-size:10000}") int tailleMax) {
+        this.userDetailsService = userDetailsService;
+        this.source = source;
+        this.ttlMs = ttlMs;
+        this.tailleMax = tailleMax;
+    }
+
+    /**
+     * Retourne le principal correspondant aux claims vérifiées d'un token.
+     */
+    public UserDetails resoudre(Claims claims) {
+        String username = claims.getSubject();
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (source == Source.JWT && role != null) {
+            return principal(username, role);
+        }
+        return charger(username);
+    }
+
+    /**
+     * Principal sans mot de passe construit à partir du nom d'utilisateur et du rôle.
+     */
+    public static UserDetails principal(String username, String role) {
+        return User.withUsername(username)
+                .password("")
+                .authorities(role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role)) : List.of())
+                .build();
+    }
+
+    /**
+     * Oublie le principal mis en cache ; rejoué après le commit si une transaction est en cours,
+     * pour qu'une lecture concurrente ne remette pas en cache l'état précédent.
+     */
+    public void invalider(String username) {
+        principaux.remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principaux.remove(username);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long maintenant = System.currentTimeMillis();
+        principaux.values().removeIf(entree -> entree.expiration() <= maintenant);
+    }
+
+    private UserDetails charger(String username) {
+        long maintenant = System.currentTimeMillis();
+        Entree entree = principaux.get(username);
+        if (entree != null && entree.expiration() > maintenant) {
+            return entree.principal();
+        }
+
+        UserDetails charge = userDetailsService.loadUserByUsername(username);
+        // Copie détachée de l'entité : les autorisations et états de compte suffisent au filtre
+        UserDetails principal = User.withUserDetails(charge).build();
+        if (principaux.size() >= tailleMax) {
+            purgeExpired();
+        }
+        if (principaux.size() < tailleMax) {
+            principaux.put(username, new Entree(principal, maintenant + ttlMs));
+        }
+        return principal;
+    }
+
+    private record Entree(UserDetails principal, long expiration) {
+    }
+}
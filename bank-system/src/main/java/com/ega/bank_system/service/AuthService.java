@@ -8,16 +8,24 @@ import com.ega.bank_system.entity.User;
 import com.ega.bank_system.exception.DuplicateResourceException;
 import com.ega.bank_system.exception.BusinessException;
 import com.ega.bank_system.repository.UserRepository;
+import com.ega.bank_system.security.BlacklistService;
 import com.ega.bank_system.security.JwtService;
+import com.ega.bank_system.security.RefreshTokenStore;
+import com.ega.bank_system.security.TokenWatermarkService;
+import com.ega.bank_system.security.UserPrincipalCache;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 /**
  * Service pour la gestion de l'authentification
  */
@@ -29,6 +37,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenWatermarkService tokenWatermarkService;
+    private final BlacklistService blacklistService;
+    private final RefreshTokenStore refreshTokenStore;
 
     /**
      * Inscription d'un nouvel utilisateur
@@ -58,67 +70,89 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        userPrincipalCache.invalider(user.getUsername());
 
         // Générer les tokens
-        String accessToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-
-        return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .username(user.getUsername())
-                .role(user.getRole().name())
-                .build();
+        return emettreTokens(user);
     }
 
     /**
      * Authentification d'un utilisateur
      */
     public AuthResponse authenticate(AuthRequest request) {
-        // Authentifier l'utilisateur
-        authenticationManager.authenticate(
+        // Authentifier l'utilisateur : le principal chargé par le provider est réutilisé tel quel
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
                         request.getPassword()
                 )
         );
 
-        // Récupérer l'utilisateur
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow();
-
         // Générer les tokens
-        String accessToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-
-        return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .username(user.getUsername())
-                .role(user.getRole().name())
-                .build();
+        return emettreTokens((UserDetails) authentication.getPrincipal());
     }
 
     /**
      * Rafraîchir le token d'accès
+     * Le refresh token est à usage unique : un nouveau est émis à chaque appel, et l'ancien est
+     * révoqué dans le stockage partagé (publication asynchrone). Le chemin courant (token émis par
+     * cette instance) ne fait aucune lecture ; sa réutilisation, sur n'importe quelle instance,
+     * révoque tous les tokens de l'utilisateur.
      */
     public AuthResponse refreshToken(String refreshToken) {
-        final String username = jwtService.extractUsername(refreshToken);
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow();
-
-        if (!jwtService.isTokenValid(refreshToken, user)) {
+        // Une seule vérification du token (signature, expiration), puis révocations
+        Claims claims = jwtService.validateToken(refreshToken);
+        if (claims == null || tokenWatermarkService.isRevoked(claims)) {
             throw new RuntimeException("Token de rafraîchissement invalide");
         }
+        if (blacklistService.isRevoked(claims, refreshToken)) {
+            // Déjà consommé ici ou sur une autre instance : rejeu, tous les tokens de l'utilisateur tombent
+            tokenWatermarkService.revokeAll(claims.getSubject());
+            throw new RuntimeException("Token de rafraîchissement déjà utilisé");
+        }
+
+        String jti = claims.getId();
+        RefreshTokenStore.Consommation consommation = jti != null
+                ? refreshTokenStore.consommer(jti)
+                : new RefreshTokenStore.Consommation(RefreshTokenStore.Statut.INCONNU, null, null);
+
+        UserDetails principal = switch (consommation.statut()) {
+            case VALIDE -> {
+                // Consommation publiée aux autres instances : un rejeu y est refusé comme ici
+                blacklistService.revoke(claims, refreshToken);
+                yield UserPrincipalCache.principal(consommation.username(), consommation.role());
+            }
+            case REUTILISE -> {
+                // Refresh token rejoué : il a probablement fuité, tous les tokens de l'utilisateur tombent
+                tokenWatermarkService.revokeAll(consommation.username());
+                throw new RuntimeException("Token de rafraîchissement déjà utilisé");
+            }
+            case INCONNU -> {
+                // Émis ailleurs ou avant un redémarrage : une lecture, et révocation partagée de l'ancien token
+                User user = userRepository.findByUsername(claims.getSubject())
+                        .filter(u -> u.isEnabled() && u.isAccountNonLocked())
+                        .orElseThrow(() -> new RuntimeException("Token de rafraîchissement invalide"));
+                blacklistService.revoke(claims, refreshToken);
+                yield user;
+            }
+        };
+
+        return emettreTokens(principal);
+    }
 
-        String newAccessToken = jwtService.generateToken(user);
+    private AuthResponse emettreTokens(UserDetails user) {
+        String role = JwtService.extractRole(user);
+        String accessToken = jwtService.generateToken(user);
+        String refreshJti = UUID.randomUUID().toString();
+        String refreshToken = jwtService.generateRefreshToken(user, refreshJti);
+        refreshTokenStore.enregistrer(refreshJti, user.getUsername(), role,
+                System.currentTimeMillis() + jwtService.getRefreshExpiration());
 
         return AuthResponse.builder()
-                .accessToken(newAccessToken)
+                .accessToken(accessToken)
                 .refreshToken(refreshToken)
                 .username(user.getUsername())
-                .role(user.getRole().name())
+                .role(role)
                 .build();
     }
 
@@ -154,7 +188,10 @@ public class AuthService {
 
         // Mettre à jour le mot de passe
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        // Tous les tokens émis avec l'ancien mot de passe deviennent invalides
+        tokenWatermarkService.revokeAll(user);
         userRepository.save(user);
+        userPrincipalCache.invalider(username);
     }
 }
 
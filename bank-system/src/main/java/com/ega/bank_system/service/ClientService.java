@@ -3,6 +3,8 @@ package com.ega.bank_system.service;
 import com.ega.bank_system.dto.ClientDTO;
 import com.ega.bank_system.dto.CompteDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ClientService {
@@ -11,7 +13,7 @@ public interface ClientService {
     ClientDTO updateClient(Long id, ClientDTO clientDTO);
     ClientDTO getClientById(Long id);
     ClientDTO getClientByCode(String clientCode);
-    List<ClientDTO> getAllClients();
+    List<ClientDTO> getAllClients(Boolean actif, int page, int size);
     void deleteClient(Long id);
     void activateClient(Long id);
     void deactivateClient(Long id);
@@ -19,5 +21,10 @@ public interface ClientService {
     List<CompteDTO> getClientComptes(Long clientId);
     ClientDTO getClientWithComptes(Long clientId);
 
-    List<ClientDTO> searchClients(String searchTerm);
+    List<ClientDTO> searchClients(String searchTerm, Boolean actif, int page, int size);
+
+    /**
+     * Écrit tous les clients dans {@code sortie} sous forme de tableau JSON, à mémoire constante.
+     */
+    void exporterClients(OutputStream sortie) throws IOException;
 }
\ No newline at end of file
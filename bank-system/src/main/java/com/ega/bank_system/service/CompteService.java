@@ -3,16 +3,24 @@ package com.ega.bank_system.service;
 import com.ega.bank_system.dto.CompteDTO;
 import com.ega.bank_system.enums.TypeCompte;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface CompteService {
 
     CompteDTO createCompte(CompteDTO compteDTO);
     CompteDTO getCompteByNumero(String numeroCompte);
-    List<CompteDTO> getAllComptes();
+    List<CompteDTO> getAllComptes(int page, int size);
     List<CompteDTO> getComptesByClient(Long clientId);
-    List<CompteDTO> getComptesByType(TypeCompte type);
+    List<CompteDTO> getComptesByType(TypeCompte type, int page, int size);
     void activateCompte(String numeroCompte);
     void deactivateCompte(String numeroCompte);
     void deleteCompte(String numeroCompte);
+    CompteDTO configurerShards(String numeroCompte, boolean hot, int nombreShards);
+
+    /**
+     * Écrit tous les comptes dans {@code sortie} sous forme de tableau JSON, à mémoire constante.
+     */
+    void exporterComptes(OutputStream sortie) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.ega.bank_system.service;
+
+import com.ega.bank_system.dto.DashboardDTO;
+
+import java.time.LocalDate;
+
+public interface DashboardService {
+
+    /**
+     * Indicateurs du tableau de bord, avec les volumes d'opérations du {@code debut} au {@code fin} inclus.
+     */
+    DashboardDTO getDashboard(LocalDate debut, LocalDate fin);
+}
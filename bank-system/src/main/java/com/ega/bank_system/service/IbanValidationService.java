@@ -0,0 +1,14 @@
+package com.ega.bank_system.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface IbanValidationService {
+
+    /**
+     * Valide un IBAN par ligne lu depuis {@code entree} et écrit, dans le même ordre,
+     * une ligne {@code IBAN;VALIDE} ou {@code IBAN;INVALIDE} par IBAN. Les lignes vides sont ignorées.
+     */
+    void validerFlux(InputStream entree, OutputStream sortie) throws IOException;
+}
@@ -1,8 +1,13 @@
 package com.ega.bank_system.service;
 
+import com.ega.bank_system.dto.FiltreTransactions;
+import com.ega.bank_system.dto.HistoriqueTransactionsDTO;
+import com.ega.bank_system.dto.TotalParTypeDTO;
 import com.ega.bank_system.dto.TransactionDTO;
 import com.ega.bank_system.dto.VirementRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,8 +21,24 @@ public interface TransactionService {
     TransactionDTO getTransactionById(Long id);
     TransactionDTO getTransactionByReference(String reference);
 
-    List<TransactionDTO> getTransactionsByCompte(String compteId);
+    HistoriqueTransactionsDTO getTransactionsByCompte(String compteId, String curseur, int size);
+    /**
+     * Journal des transactions tous comptes confondus, filtré et paginé par curseur comme l'historique d'un compte.
+     */
+    HistoriqueTransactionsDTO getJournal(FiltreTransactions filtre, String curseur, int size);
+
+    /**
+     * Totaux par type des opérations validées répondant aux mêmes critères que le journal.
+     */
+    List<TotalParTypeDTO> getTotauxJournal(FiltreTransactions filtre);
+
     List<TransactionDTO> getTransactionsByPeriod(String compteId, LocalDateTime startDate, LocalDateTime endDate);
+    List<TotalParTypeDTO> getTotauxByPeriod(String compteId, LocalDateTime startDate, LocalDateTime endDate);
 
     BigDecimal getSolde(String compteId);
+
+    /**
+     * Écrit tout l'historique du compte dans {@code sortie} sous forme de tableau JSON, à mémoire constante.
+     */
+    void exporterTransactions(String compteId, OutputStream sortie) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.entity.Client;
+import com.ega.bank_system.repository.ClientRepository;
+import com.ega.bank_system.util.IndexConcurrent;
+import com.ega.bank_system.util.Pagination;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recherche de clients servie par un index trigramme PostgreSQL (pg_trgm).
+ * Nom, prénom, email et téléphone sont concaténés dans une seule expression indexée par GIN :
+ * le filtre "contient" suit l'index, et seuls les candidats sont classés par similarité de mot
+ * avant de ne renvoyer que les K premiers. L'index est maintenu par la base à chaque écriture.
+ * Sa construction passe par {@link IndexConcurrent} : quand plusieurs nœuds démarrent ensemble, un seul
+ * le construit (ou le reconstruit) sous verrou consultatif, les autres attendent qu'il soit prêt.
+ * Sans l'extension (droits insuffisants), on retombe sur la requête LIKE paginée.
+ */
+@Slf4j
+@Component
+public class ClientSearch {
+
+    static final String INDEX = "idx_clients_recherche_trgm";
+    static final String EXPRESSION = "lower(nom || ' ' || prenom || ' ' || email || ' ' || telephone)";
+
+    private static final String SQL_RECHERCHE =
+            "SELECT id FROM clients WHERE " + EXPRESSION + " LIKE ? ESCAPE '" + Pagination.ESCAPE + "' " +
+            "ORDER BY word_similarity(?, " + EXPRESSION + ") DESC, id LIMIT ? OFFSET ?";
+
+    private static final String SQL_RECHERCHE_STATUT =
+            "SELECT id FROM clients WHERE " + EXPRESSION + " LIKE ? ESCAPE '" + Pagination.ESCAPE + "' AND active = ? " +
+            "ORDER BY word_similarity(?, " + EXPRESSION + ") DESC, id LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientRepository clientRepository;
+    private final boolean trigrammeDemande;
+
+    private volatile boolean trigramme;
+
+    public ClientSearch(JdbcTemplate jdbcTemplate,
+                        ClientRepository clientRepository,
+                        @Value("${app.client.search.trigram:true}") boolean trigrammeDemande) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clientRepository = clientRepository;
+        this.trigrammeDemande = trigrammeDemande;
+    }
+
+    @PostConstruct
+    void preparer() {
+        if (!trigrammeDemande) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            IndexConcurrent.assurer(jdbcTemplate, INDEX, "ON clients USING gin ((" + EXPRESSION + ") gin_trgm_ops)");
+            trigramme = true;
+        } catch (DataAccessException e) {
+            log.warn("Index trigramme indisponible, recherche clients par LIKE paginé: {}", e.getMessage());
+        }
+    }
+
+    public boolean isTrigramme() {
+        return trigramme;
+    }
+
+    /**
+     * Les meilleurs clients correspondant au terme, classés par pertinence puis par id.
+     */
+    public List<Client> rechercher(String terme, Pageable pageable) {
+        return rechercher(terme, null, pageable);
+    }
+
+    /**
+     * Idem, restreint aux clients actifs ou inactifs quand {@code actif} n'est pas null.
+     */
+    public List<Client> rechercher(String terme, Boolean actif, Pageable pageable) {
+        String motif = Pagination.motifContient(terme);
+        if (!trigramme) {
+            return actif != null
+                    ? clientRepository.rechercherParStatut(motif, actif, pageable)
+                    : clientRepository.rechercher(motif, pageable);
+        }
+
+        List<Long> ids = actif != null
+                ? jdbcTemplate.queryForList(SQL_RECHERCHE_STATUT, Long.class,
+                        motif, actif, terme.toLowerCase(), pageable.getPageSize(), pageable.getOffset())
+                : jdbcTemplate.queryForList(SQL_RECHERCHE, Long.class,
+                        motif, terme.toLowerCase(), pageable.getPageSize(), pageable.getOffset());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // findAllById ne garantit pas l'ordre : on rétablit celui du classement
+        Map<Long, Integer> rang = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            rang.put(ids.get(i), i);
+        }
+        List<Client> clients = new ArrayList<>(clientRepository.findAllById(ids));
+        clients.sort(Comparator.comparingInt(client -> rang.get(client.getId())));
+        return clients;
+    }
+}
@@ -1,19 +1,30 @@
 package com.ega.bank_system.service.impl;
 
 import com.ega.bank_system.dto.ClientDTO;
+import com.ega.bank_system.dto.ClientLigne;
 import com.ega.bank_system.dto.CompteDTO;
+import com.ega.bank_system.dto.CompteLigne;
 import com.ega.bank_system.entity.Client;
 import com.ega.bank_system.exception.DuplicateResourceException;
 import com.ega.bank_system.exception.ResourceNotFoundException;
 import com.ega.bank_system.repository.ClientRepository;
 import com.ega.bank_system.repository.CompteRepository;
 import com.ega.bank_system.service.ClientService;
+import com.ega.bank_system.util.FluxJson;
+import com.ega.bank_system.util.Pagination;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +32,11 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
     private final CompteRepository compteRepository;
+    private final ClientSearch clientSearch;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.max-size:200}")
+    private int maxPageSize;
 
     @Override
     @Transactional
@@ -101,8 +117,12 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public List<ClientDTO> getAllClients() {
-        return clientRepository.findAll().stream()
+    public List<ClientDTO> getAllClients(Boolean actif, int page, int size) {
+        Pageable pageable = Pagination.page(page, size, maxPageSize, Sort.by("id"));
+        List<Client> clients = actif != null
+                ? clientRepository.findByActive(actif, pageable)
+                : clientRepository.findAllBy(pageable);
+        return clients.stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
@@ -135,18 +155,13 @@ public class ClientServiceImpl implements ClientService {
 
     @Override
     public List<CompteDTO> getClientComptes(Long clientId) {
-        if (!clientRepository.existsById(clientId)) {
+        List<CompteLigne> comptes = compteRepository.findByClientId(clientId);
+        if (comptes.isEmpty() && !clientRepository.existsById(clientId)) {
             throw new ResourceNotFoundException("Client non trouvé avec ID: " + clientId);
         }
 
-        return compteRepository.findByClientId(clientId).stream()
-                .map(compte -> CompteDTO.builder()
-                        .numeroCompte(compte.getNumeroCompte())
-                        .type(compte.getType())
-                        .solde(compte.getSolde())
-                        .dateCreation(compte.getDateCreation())
-                        .tauxInteret(compte.getTauxInteret())
-                        .build())
+        return comptes.stream()
+                .map(CompteLigne::versDTO)
                 .collect(Collectors.toList());
     }
 
@@ -161,17 +176,22 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public List<ClientDTO> searchClients(String searchTerm) {
-        return clientRepository.findAll().stream()
-                .filter(client ->
-                        client.getNom().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                                client.getPrenom().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                                client.getEmail().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                                client.getTelephone().contains(searchTerm))
+    public List<ClientDTO> searchClients(String searchTerm, Boolean actif, int page, int size) {
+        Pageable pageable = Pagination.page(page, size, maxPageSize, Sort.by("id"));
+        return clientSearch.rechercher(searchTerm, actif, pageable).stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exporterClients(OutputStream sortie) throws IOException {
+        // Transaction obligatoire : hors transaction le pilote PostgreSQL ignore la taille de lot et charge tout
+        try (Stream<ClientLigne> clients = clientRepository.streamAll()) {
+            FluxJson.ecrireTableau(clients.map(ClientLigne::versDTO), sortie, objectMapper);
+        }
+    }
+
     private ClientDTO mapToDTO(Client client) {
         return ClientDTO.builder()
                 .id(client.getId())
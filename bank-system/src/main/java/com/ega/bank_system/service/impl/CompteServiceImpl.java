@@ -1,22 +1,32 @@
 package com.ega.bank_system.service.impl;
 
 import com.ega.bank_system.dto.CompteDTO;
+import com.ega.bank_system.dto.CompteLigne;
 import com.ega.bank_system.entity.*;
 import com.ega.bank_system.enums.TypeCompte;
 import com.ega.bank_system.exception.BusinessException;
 import com.ega.bank_system.exception.ResourceNotFoundException;
 import com.ega.bank_system.repository.ClientRepository;
 import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.CompteShardRepository;
 import com.ega.bank_system.service.CompteService;
 import com.ega.bank_system.util.IbanGenerator;
+import com.ega.bank_system.util.FluxJson;
+import com.ega.bank_system.util.Pagination;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +35,15 @@ public class CompteServiceImpl implements CompteService {
     private final CompteRepository compteRepository;
     private final ClientRepository clientRepository;
     private final IbanGenerator ibanGenerator;
+    private final CompteShardRepository compteShardRepository;
+    private final PostingEngine postingEngine;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_SHARDS = 64;
+    private static final int TENTATIVES_NUMERO = 5;
+
+    @Value("${app.pagination.max-size:200}")
+    private int maxPageSize;
 
     @Override
     @Transactional
@@ -33,13 +52,7 @@ public class CompteServiceImpl implements CompteService {
         Client client = clientRepository.findById(compteDTO.getClientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec ID: " + compteDTO.getClientId()));
 
-        // Générer le numéro de compte
-        String numeroCompte = ibanGenerator.generateIban();
-
-        // Vérifier unicité (très peu probable mais sécurité)
-        if (compteRepository.existsByNumeroCompte(numeroCompte)) {
-            throw new BusinessException("Erreur de génération du numéro de compte. Veuillez réessayer.");
-        }
+        String numeroCompte = genererNumeroLibre();
 
         // Créer le compte selon le type
         Compte compte;
@@ -76,28 +89,29 @@ public class CompteServiceImpl implements CompteService {
     }
 
     @Override
-    public List<CompteDTO> getAllComptes() {
-        return compteRepository.findAll().stream()
-                .map(this::mapToDTO)
+    public List<CompteDTO> getAllComptes(int page, int size) {
+        return compteRepository.findAllBy(Pagination.page(page, size, maxPageSize, Sort.unsorted())).stream()
+                .map(CompteLigne::versDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<CompteDTO> getComptesByClient(Long clientId) {
-        if (!clientRepository.existsById(clientId)) {
+        List<CompteLigne> comptes = compteRepository.findByClientId(clientId);
+        // Le contrôle d'existence n'est payé que si le client n'a aucun compte
+        if (comptes.isEmpty() && !clientRepository.existsById(clientId)) {
             throw new ResourceNotFoundException("Client non trouvé avec ID: " + clientId);
         }
 
-        return compteRepository.findByClientId(clientId).stream()
-                .map(this::mapToDTO)
+        return comptes.stream()
+                .map(CompteLigne::versDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<CompteDTO> getComptesByType(TypeCompte type) {
-        return compteRepository.findAll().stream()
-                .filter(compte -> compte.getType() == type)
-                .map(this::mapToDTO)
+    public List<CompteDTO> getComptesByType(TypeCompte type, int page, int size) {
+        return compteRepository.findByType(type, Pagination.page(page, size, maxPageSize, Sort.unsorted())).stream()
+                .map(CompteLigne::versDTO)
                 .collect(Collectors.toList());
     }
 
@@ -127,19 +141,78 @@ public class CompteServiceImpl implements CompteService {
         Compte compte = compteRepository.findByNumeroCompte(numeroCompte)
                 .orElseThrow(() -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + numeroCompte));
 
-        if (compte.getSolde().compareTo(BigDecimal.ZERO) > 0) {
+        if (postingEngine.soldeTotal(compte).compareTo(BigDecimal.ZERO) > 0) {
             throw new BusinessException("Impossible de supprimer un compte avec un solde positif");
         }
 
+        compteShardRepository.supprimerParCompte(numeroCompte);
         compteRepository.delete(compte);
     }
 
+    @Override
+    @Transactional
+    public CompteDTO configurerShards(String numeroCompte, boolean hot, int nombreShards) {
+        if (hot && (nombreShards < 1 || nombreShards > MAX_SHARDS)) {
+            throw new BusinessException("Le nombre de shards doit être compris entre 1 et " + MAX_SHARDS);
+        }
+
+        Compte compte = compteRepository.findByNumeroCompte(numeroCompte)
+                .orElseThrow(() -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + numeroCompte));
+
+        // Replier les shards existants dans le solde principal avant de les supprimer
+        List<CompteShard> existants = compteShardRepository.findPourMiseAJour(numeroCompte);
+        for (CompteShard shard : existants) {
+            compte.deposer(shard.getSolde());
+        }
+        compteShardRepository.deleteAll(existants);
+        compteShardRepository.flush();
+
+        if (hot) {
+            for (int i = 0; i < nombreShards; i++) {
+                compteShardRepository.save(CompteShard.builder()
+                        .compte(compte)
+                        .shardIndex(i)
+                        .build());
+            }
+        }
+
+        compte.setHot(hot);
+        compte.setNombreShards(hot ? nombreShards : null);
+        compte = compteRepository.save(compte);
+
+        postingEngine.definirShards(numeroCompte, compte.getNombreShards());
+        return mapToDTO(compte);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exporterComptes(OutputStream sortie) throws IOException {
+        try (Stream<CompteLigne> comptes = compteRepository.streamAll()) {
+            FluxJson.ecrireTableau(comptes.map(CompteLigne::versDTO), sortie, objectMapper);
+        }
+    }
+
+    /**
+     * Le filtre du générateur ne connaît que les numéros chargés au démarrage et ceux tirés par ce nœud :
+     * un numéro ouvert entre-temps sur un autre nœud n'est détecté qu'ici, et un autre est tiré.
+     */
+    private String genererNumeroLibre() {
+        for (int tentative = 0; tentative < TENTATIVES_NUMERO; tentative++) {
+            String numeroCompte = ibanGenerator.generateIban();
+            if (!compteRepository.existsByNumeroCompte(numeroCompte)) {
+                return numeroCompte;
+            }
+        }
+        throw new BusinessException("Erreur de génération du numéro de compte. Veuillez réessayer.");
+    }
+
     private CompteDTO mapToDTO(Compte compte) {
         CompteDTO.CompteDTOBuilder builder = CompteDTO.builder()
                 .numeroCompte(compte.getNumeroCompte())
                 .type(compte.getType())
                 .dateCreation(compte.getDateCreation())
-                .solde(compte.getSolde())
+                .solde(postingEngine.soldeTotal(compte))
+                .hot(compte.isHot())
                 .clientId(compte.getClient().getId());
 
         // Ajouter les champs spécifiques au compte épargne
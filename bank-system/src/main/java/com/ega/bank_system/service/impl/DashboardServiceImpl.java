@@ -0,0 +1,141 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.dto.ComptesParTypeDTO;
+import com.ega.bank_system.dto.DashboardDTO;
+import com.ega.bank_system.dto.NombreParMoisDTO;
+import com.ega.bank_system.dto.TotalParTypeDTO;
+import com.ega.bank_system.dto.TransactionLigne;
+import com.ega.bank_system.dto.VolumeJourDTO;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.repository.ClientRepository;
+import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.TransactionRepository;
+import com.ega.bank_system.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tableau de bord servi par une poignée de requêtes d'agrégat au lieu de l'historique de chaque compte.
+ * Le résultat est gardé quelques secondes par période : un rafraîchissement répété ou plusieurs
+ * administrateurs sur le même écran ne relancent pas les agrégats.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    static final int TOP_CLIENTS = 10;
+    static final int ACTIVITE_RECENTE = 10;
+    static final int MOIS_EVOLUTION = 6;
+    private static final int PERIODES_MAX = 64;
+
+    private final ClientRepository clientRepository;
+    private final CompteRepository compteRepository;
+    private final TransactionRepository transactionRepository;
+    private final Map<Periode, Entree> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.dashboard.cache-ttl-ms:5000}")
+    private long ttlMs;
+
+    @Override
+    public DashboardDTO getDashboard(LocalDate debut, LocalDate fin) {
+        if (debut.isAfter(fin)) {
+            throw new BusinessException("La date de début doit précéder la date de fin");
+        }
+
+        Periode periode = new Periode(debut, fin);
+        long maintenant = System.currentTimeMillis();
+        Entree entree = cache.get(periode);
+        if (entree != null && entree.expiration() > maintenant) {
+            return entree.dashboard();
+        }
+
+        DashboardDTO dashboard = calculer(debut, fin);
+        if (cache.size() >= PERIODES_MAX) {
+            cache.values().removeIf(e -> e.expiration() <= maintenant);
+        }
+        if (cache.size() < PERIODES_MAX) {
+            cache.put(periode, new Entree(dashboard, maintenant + ttlMs));
+        }
+        return dashboard;
+    }
+
+    private DashboardDTO calculer(LocalDate debut, LocalDate fin) {
+        // Comptes : nombre et encours par type, totaux déduits sans autre requête
+        List<ComptesParTypeDTO> comptesParType = compteRepository.totauxParType();
+        long totalComptes = 0;
+        BigDecimal soldeTotal = BigDecimal.ZERO;
+        for (ComptesParTypeDTO total : comptesParType) {
+            totalComptes += total.getNombre();
+            soldeTotal = soldeTotal.add(total.getSolde());
+        }
+
+        // Évolutions sur les six derniers mois, mois courant compris
+        YearMonth moisCourant = YearMonth.now();
+        LocalDate depuis = moisCourant.minusMonths(MOIS_EVOLUTION - 1L).atDay(1);
+        List<NombreParMoisDTO> clientsParMois = clientRepository.nombreParMois(depuis.atStartOfDay());
+        List<NombreParMoisDTO> comptesParMois = compteRepository.nombreParMois(depuis);
+
+        // Opérations validées de la période, par jour et par type ; les totaux par type en sont déduits
+        List<VolumeJourDTO> volumesParJour = transactionRepository.volumesParJour(
+                debut.atStartOfDay(), fin.plusDays(1).atStartOfDay(), StatutTransaction.VALIDEE);
+        Map<TypeTransaction, TotalParTypeDTO> parType = new EnumMap<>(TypeTransaction.class);
+        long nombreTransactions = 0;
+        BigDecimal volumeTransactions = BigDecimal.ZERO;
+        for (VolumeJourDTO volume : volumesParJour) {
+            TotalParTypeDTO total = parType.computeIfAbsent(volume.getType(),
+                    type -> new TotalParTypeDTO(type, 0L, BigDecimal.ZERO));
+            total.setNombre(total.getNombre() + volume.getNombre());
+            total.setMontant(total.getMontant().add(volume.getMontant()));
+            nombreTransactions += volume.getNombre();
+            volumeTransactions = volumeTransactions.add(volume.getMontant());
+        }
+
+        return DashboardDTO.builder()
+                .debut(debut)
+                .fin(fin)
+                .totalClients(clientRepository.count())
+                .nouveauxClients(nombreDuMois(clientsParMois, moisCourant))
+                .totalComptes(totalComptes)
+                .nouveauxComptes(nombreDuMois(comptesParMois, moisCourant))
+                .soldeTotal(soldeTotal)
+                .comptesParType(comptesParType)
+                .nombreTransactions(nombreTransactions)
+                .volumeTransactions(volumeTransactions)
+                .transactionsParType(new ArrayList<>(parType.values()))
+                .volumesParJour(volumesParJour)
+                .transactionsEnAttente(transactionRepository.countEnAttente())
+                .clientsParMois(clientsParMois)
+                .comptesParMois(comptesParMois)
+                .topClients(compteRepository.topClientsParSolde(Limit.of(TOP_CLIENTS)))
+                .activiteRecente(transactionRepository.findRecentes(Limit.of(ACTIVITE_RECENTE)).stream()
+                        .map(TransactionLigne::versDTO)
+                        .toList())
+                .build();
+    }
+
+    private static long nombreDuMois(List<NombreParMoisDTO> parMois, YearMonth mois) {
+        return parMois.stream()
+                .filter(m -> m.getAnnee() == mois.getYear() && m.getMois() == mois.getMonthValue())
+                .mapToLong(NombreParMoisDTO::getNombre)
+                .sum();
+    }
+
+    private record Periode(LocalDate debut, LocalDate fin) {
+    }
+
+    private record Entree(DashboardDTO dashboard, long expiration) {
+    }
+}
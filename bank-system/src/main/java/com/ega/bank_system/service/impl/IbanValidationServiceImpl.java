@@ -0,0 +1,168 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.service.IbanValidationService;
+import com.ega.bank_system.util.IbanValidator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validation d'IBAN en masse.
+ * Le flux est découpé en blocs de lignes complètes validés en parallèle sur les octets bruts ;
+ * les résultats sont réécrits dans l'ordre d'arrivée dès que le bloc de tête est prêt,
+ * avec un nombre borné de blocs en vol pour garder une mémoire constante.
+ */
+@Service
+public class IbanValidationServiceImpl implements IbanValidationService {
+
+    private static final byte[] VALIDE = ";VALIDE\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALIDE = ";INVALIDE\n".getBytes(StandardCharsets.US_ASCII);
+    // Au-delà, une « ligne » n'est pas un IBAN : elle est tronquée à l'écho et déclarée invalide
+    private static final int LONGUEUR_MAX_LIGNE = 64;
+
+    private final int tailleBloc;
+    private final int blocsEnVol;
+    private final ExecutorService validateurs;
+
+    public IbanValidationServiceImpl(@Value("${app.iban.validation.chunk-bytes:262144}") int tailleBloc,
+                                     @Value("${app.iban.validation.threads:0}") int threads) {
+        int nombreThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.tailleBloc = Math.max(tailleBloc, 1024);
+        this.blocsEnVol = nombreThreads * 2;
+        AtomicInteger compteur = new AtomicInteger();
+        this.validateurs = Executors.newFixedThreadPool(nombreThreads, r -> {
+            Thread thread = new Thread(r, "iban-validation-" + compteur.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void arreter() {
+        validateurs.shutdownNow();
+    }
+
+    @Override
+    public void validerFlux(InputStream entree, OutputStream sortie) throws IOException {
+        Deque<Future<byte[]>> enVol = new ArrayDeque<>();
+        byte[] tampon = new byte[tailleBloc];
+        int rempli = 0;
+        boolean ligneTropLongue = false;
+
+        try {
+            int lus;
+            while ((lus = entree.read(tampon, rempli, tampon.length - rempli)) != -1) {
+                rempli += lus;
+                int finLignes = dernierSautDeLigne(tampon, rempli);
+                if (finLignes < 0) {
+                    if (rempli < tampon.length) {
+                        continue;
+                    }
+                    // Bloc plein sans fin de ligne : une seule ligne démesurée, reportée une fois
+                    if (!ligneTropLongue) {
+                        soumettre(enVol, Arrays.copyOf(tampon, rempli), sortie);
+                        ligneTropLongue = true;
+                    }
+                    rempli = 0;
+                    continue;
+                }
+                int debut = 0;
+                if (ligneTropLongue) {
+                    // Ignorer la fin de la ligne démesurée déjà reportée
+                    debut = premierSautDeLigne(tampon, finLignes) + 1;
+                    ligneTropLongue = false;
+                }
+                if (debut <= finLignes) {
+                    soumettre(enVol, Arrays.copyOfRange(tampon, debut, finLignes + 1), sortie);
+                }
+                rempli -= finLignes + 1;
+                System.arraycopy(tampon, finLignes + 1, tampon, 0, rempli);
+            }
+            if (rempli > 0 && !ligneTropLongue) {
+                soumettre(enVol, Arrays.copyOf(tampon, rempli), sortie);
+            }
+            while (!enVol.isEmpty()) {
+                ecrire(enVol.pollFirst(), sortie);
+            }
+            sortie.flush();
+        } finally {
+            enVol.forEach(futur -> futur.cancel(true));
+        }
+    }
+
+    private void soumettre(Deque<Future<byte[]>> enVol, byte[] bloc, OutputStream sortie) throws IOException {
+        if (enVol.size() >= blocsEnVol) {
+            ecrire(enVol.pollFirst(), sortie);
+        }
+        enVol.addLast(validateurs.submit(() -> validerBloc(bloc)));
+    }
+
+    private void ecrire(Future<byte[]> futur, OutputStream sortie) throws IOException {
+        try {
+            sortie.write(futur.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Validation interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Échec de validation d'un bloc d'IBAN", e.getCause());
+        }
+    }
+
+    private static byte[] validerBloc(byte[] bloc) {
+        ByteArrayOutputStream resultat = new ByteArrayOutputStream(bloc.length + bloc.length / 2);
+        int debut = 0;
+        while (debut < bloc.length) {
+            int fin = debut;
+            while (fin < bloc.length && bloc[fin] != '\n') {
+                fin++;
+            }
+            int finUtile = fin;
+            while (finUtile > debut && (bloc[finUtile - 1] == '\r' || bloc[finUtile - 1] == ' ')) {
+                finUtile--;
+            }
+            int debutUtile = debut;
+            while (debutUtile < finUtile && bloc[debutUtile] == ' ') {
+                debutUtile++;
+            }
+            if (debutUtile < finUtile) {
+                boolean valide = IbanValidator.valider(bloc, debutUtile, finUtile);
+                resultat.write(bloc, debutUtile, Math.min(finUtile - debutUtile, LONGUEUR_MAX_LIGNE));
+                resultat.writeBytes(valide ? VALIDE : INVALIDE);
+            }
+            debut = fin + 1;
+        }
+        return resultat.toByteArray();
+    }
+
+    private static int dernierSautDeLigne(byte[] tampon, int longueur) {
+        for (int i = longueur - 1; i >= 0; i--) {
+            if (tampon[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int premierSautDeLigne(byte[] tampon, int limite) {
+        for (int i = 0; i <= limite; i++) {
+            if (tampon[i] == '\n') {
+                return i;
+            }
+        }
+        return limite;
+    }
+}
@@ -0,0 +1,232 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.entity.CompteCourant;
+import com.ega.bank_system.entity.CompteEpargne;
+import com.ega.bank_system.entity.Transaction;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Regroupement ("group commit") des dépôts et retraits.
+ * Les imputations arrivées dans une même fenêtre sont appliquées par un seul thread écrivain,
+ * dans une seule transaction : les UPDATE de solde partent en un batch JDBC, puis chaque appelant
+ * reçoit sa propre écriture ou sa propre erreur métier.
+ */
+@Slf4j
+@Component
+public class PostingBatcher {
+
+    // Un seul UPDATE pour crédits et débits, afin de conserver l'ordre d'arrivée dans le batch.
+    // Paramètres : delta, numéro, delta, est un débit, montant soumis à la limite, limite courant, limite épargne
+    private static final String SQL_IMPUTATION =
+            "UPDATE comptes SET solde = solde + ?, version = version + 1 " +
+            "WHERE numero_compte = ? AND solde + ? >= 0 AND (? OR hot = false) " +
+            "AND ? <= CASE type WHEN 'COURANT' THEN ? ELSE ? END";
+
+    private final PostingEngine postingEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean actif;
+    private final long fenetreMicros;
+    private final int tailleMax;
+    private final long delaiReponseMs;
+    private final BlockingQueue<Imputation> file;
+
+    private volatile boolean arrete;
+    private Thread ecrivain;
+
+    public PostingBatcher(PostingEngine postingEngine,
+                          JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${app.transaction.group-commit.enabled:false}") boolean actif,
+                          @Value("${app.transaction.group-commit.window-micros:2000}") long fenetreMicros,
+                          @Value("${app.transaction.group-commit.max-batch:256}") int tailleMax,
+                          @Value("${app.transaction.group-commit.queue-capacity:10000}") int capacite,
+                          @Value("${app.transaction.group-commit.response-timeout-ms:30000}") long delaiReponseMs) {
+        this.postingEngine = postingEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.actif = actif;
+        this.fenetreMicros = fenetreMicros;
+        this.tailleMax = tailleMax;
+        this.delaiReponseMs = delaiReponseMs;
+        this.file = new ArrayBlockingQueue<>(capacite);
+    }
+
+    @PostConstruct
+    void demarrer() {
+        if (!actif) {
+            return;
+        }
+        ecrivain = new Thread(this::boucle, "posting-batcher");
+        ecrivain.setDaemon(true);
+        ecrivain.start();
+        log.info("Group commit des imputations actif (fenêtre {} µs, {} opérations max)", fenetreMicros, tailleMax);
+    }
+
+    @PreDestroy
+    void arreter() {
+        arrete = true;
+        if (ecrivain != null) {
+            ecrivain.interrupt();
+        }
+        Imputation restante;
+        while ((restante = file.poll()) != null) {
+            restante.resultat.completeExceptionally(new BusinessException("Service d'imputation arrêté"));
+        }
+    }
+
+    public boolean isActif() {
+        return actif;
+    }
+
+    /**
+     * Soumet un dépôt ou un retrait (montant déjà validé) et attend son écriture.
+     */
+    public Transaction imputer(TypeTransaction type, String numeroCompte, BigDecimal montant, String description) {
+        Imputation imputation = new Imputation(type, numeroCompte, montant, description);
+        if (arrete || !file.offer(imputation)) {
+            throw new BusinessException("Trop d'opérations en attente, veuillez réessayer");
+        }
+        try {
+            return imputation.resultat.get(delaiReponseMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new BusinessException("Délai d'imputation dépassé, vérifiez l'historique du compte avant de réessayer");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Imputation interrompue");
+        }
+    }
+
+    private void boucle() {
+        List<Imputation> lot = new ArrayList<>(tailleMax);
+        while (!arrete) {
+            try {
+                lot.add(file.take());
+                long echeance = System.nanoTime() + fenetreMicros * 1_000;
+                while (lot.size() < tailleMax) {
+                    long reste = echeance - System.nanoTime();
+                    Imputation suivante = reste > 0 ? file.poll(reste, TimeUnit.NANOSECONDS) : file.poll();
+                    if (suivante == null) {
+                        break;
+                    }
+                    lot.add(suivante);
+                }
+                appliquer(lot);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Échec du lot d'imputations ({} opérations)", lot.size(), e);
+                lot.forEach(imputation -> imputation.resultat.completeExceptionally(e));
+            } finally {
+                lot.clear();
+            }
+        }
+    }
+
+    private void appliquer(List<Imputation> lot) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int[][] lignes = jdbcTemplate.batchUpdate(SQL_IMPUTATION, lot, lot.size(), (ps, imputation) -> {
+                boolean debit = imputation.type == TypeTransaction.RETRAIT;
+                BigDecimal delta = debit ? imputation.montant.negate() : imputation.montant;
+                ps.setBigDecimal(1, delta);
+                ps.setString(2, imputation.numeroCompte);
+                ps.setBigDecimal(3, delta);
+                ps.setBoolean(4, debit);
+                ps.setBigDecimal(5, debit ? imputation.montant : BigDecimal.ZERO);
+                ps.setBigDecimal(6, CompteCourant.LIMITE_RETRAIT);
+                ps.setBigDecimal(7, CompteEpargne.LIMITE_RETRAIT);
+            });
+
+            int i = 0;
+            for (int[] sousLot : lignes) {
+                for (int compte : sousLot) {
+                    if (compte == Statement.SUCCESS_NO_INFO) {
+                        // Sans nombre de lignes on ne sait pas quelles imputations sont passées : tout annuler
+                        throw new IllegalStateException("Le pilote JDBC n'a pas retourné le nombre de lignes du batch");
+                    }
+                    Imputation imputation = lot.get(i++);
+                    // 0 ligne : compte chaud, absent, limite ou solde ; le chemin unitaire tranche
+                    imputation.applique = compte == 1 || appliquerUnitairement(imputation);
+                }
+            }
+
+            for (Imputation imputation : lot) {
+                if (imputation.applique) {
+                    imputation.ecriture = postingEngine.enregistrer(imputation.type, imputation.montant,
+                            imputation.type.getLibelle(), imputation.description, imputation.numeroCompte, null);
+                }
+            }
+        });
+
+        // Les réponses ne partent qu'après le commit du lot
+        for (Imputation imputation : lot) {
+            if (imputation.applique) {
+                imputation.resultat.complete(imputation.ecriture);
+            } else {
+                imputation.resultat.completeExceptionally(imputation.erreur);
+            }
+        }
+    }
+
+    private boolean appliquerUnitairement(Imputation imputation) {
+        try {
+            if (imputation.type == TypeTransaction.RETRAIT) {
+                postingEngine.debiter(imputation.numeroCompte, imputation.montant, true,
+                        () -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + imputation.numeroCompte));
+            } else {
+                postingEngine.crediter(imputation.numeroCompte, imputation.montant,
+                        () -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + imputation.numeroCompte));
+            }
+            return true;
+        } catch (BusinessException | ResourceNotFoundException e) {
+            imputation.erreur = e;
+            return false;
+        }
+    }
+
+    private static final class Imputation {
+        private final TypeTransaction type;
+        private final String numeroCompte;
+        private final BigDecimal montant;
+        private final String description;
+        private final CompletableFuture<Transaction> resultat = new CompletableFuture<>();
+        private boolean applique;
+        private Transaction ecriture;
+        private RuntimeException erreur;
+
+        private Imputation(TypeTransaction type, String numeroCompte, BigDecimal montant, String description) {
+            this.type = type;
+            this.numeroCompte = numeroCompte;
+            this.montant = montant;
+            this.description = description;
+        }
+    }
+}
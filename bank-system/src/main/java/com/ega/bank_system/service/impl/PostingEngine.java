@@ -0,0 +1,191 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.entity.Compte;
+import com.ega.bank_system.entity.CompteCourant;
+import com.ega.bank_system.entity.CompteEpargne;
+import com.ega.bank_system.entity.CompteShard;
+import com.ega.bank_system.entity.Transaction;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeCompte;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.exception.ResourceNotFoundException;
+import com.ega.bank_system.exception.SoldeInsuffisantException;
+import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.CompteShardRepository;
+import com.ega.bank_system.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Moteur d'imputation des mouvements de solde.
+ * Chaque mouvement est un UPDATE conditionnel unique : pas de lecture-modification-écriture,
+ * donc pas de mise à jour perdue entre agents concurrents.
+ * Doit être appelé dans une transaction ouverte par l'appelant.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostingEngine {
+
+    private static final Set<TypeCompte> TOUS_TYPES = EnumSet.allOf(TypeCompte.class);
+
+    private final CompteRepository compteRepository;
+    private final TransactionRepository transactionRepository;
+    private final CompteShardRepository compteShardRepository;
+
+    // Comptes chauds connus de ce nœud -> nombre de shards
+    private final Map<String, Integer> comptesChauds = new ConcurrentHashMap<>();
+
+    /**
+     * Crédite le compte ; pour un compte chaud, le crédit est porté sur un shard tiré au hasard.
+     */
+    public void crediter(String numeroCompte, BigDecimal montant,
+                         Supplier<ResourceNotFoundException> introuvable) {
+        Integer shards = comptesChauds.get(numeroCompte);
+        if (shards != null) {
+            if (crediterShard(numeroCompte, montant, shards)) {
+                return;
+            }
+            // Shards reconfigurés entre-temps
+            comptesChauds.remove(numeroCompte);
+        }
+
+        if (compteRepository.crediter(numeroCompte, montant) == 1) {
+            return;
+        }
+
+        // Compte absent, ou marqué chaud (éventuellement par un autre nœud)
+        Compte compte = compteRepository.findByNumeroCompte(numeroCompte)
+                .orElseThrow(introuvable);
+        if (compte.isHot() && compte.getNombreShards() != null
+                && crediterShard(numeroCompte, montant, compte.getNombreShards())) {
+            comptesChauds.put(numeroCompte, compte.getNombreShards());
+            return;
+        }
+        if (compteRepository.crediterSoldePrincipal(numeroCompte, montant) == 0) {
+            throw introuvable.get();
+        }
+    }
+
+    /**
+     * Débite le compte si le solde est suffisant.
+     * Avec appliquerLimite, la limite de retrait propre au type de compte est aussi vérifiée dans l'UPDATE.
+     */
+    public void debiter(String numeroCompte, BigDecimal montant, boolean appliquerLimite,
+                        Supplier<ResourceNotFoundException> introuvable) {
+        Set<TypeCompte> types = appliquerLimite ? typesAutorises(montant) : TOUS_TYPES;
+        if (!types.isEmpty() && compteRepository.debiter(numeroCompte, montant, types) == 1) {
+            return;
+        }
+
+        // Chemin lent : aucune ligne modifiée, on relit le compte pour expliquer le refus
+        Compte compte = compteRepository.findByNumeroCompte(numeroCompte)
+                .orElseThrow(introuvable);
+
+        if (appliquerLimite && montant.compareTo(compte.getLimiteRetrait()) > 0) {
+            throw new BusinessException(String.format(
+                    "Le montant du retrait dépasse la limite du compte de %s", compte.getLimiteRetrait()));
+        }
+
+        // Compte chaud : les crédits dorment peut-être dans les shards, on les replie avant de conclure
+        BigDecimal replie = compte.isHot() ? consolider(numeroCompte) : BigDecimal.ZERO;
+        if (replie.signum() > 0 && compteRepository.debiter(numeroCompte, montant, types) == 1) {
+            return;
+        }
+
+        throw new SoldeInsuffisantException(compte.getSolde().add(replie), montant);
+    }
+
+    /**
+     * Replie les shards d'un compte chaud dans son solde principal.
+     * Retourne le montant replié.
+     */
+    public BigDecimal consolider(String numeroCompte) {
+        BigDecimal replie = replierShards(numeroCompte);
+        if (replie.signum() != 0) {
+            compteRepository.crediterSoldePrincipal(numeroCompte, replie);
+        }
+        return replie;
+    }
+
+    /**
+     * Verrouille et remet à zéro les shards du compte ; retourne la somme retirée,
+     * à reporter par l'appelant sur le solde principal.
+     */
+    public BigDecimal replierShards(String numeroCompte) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CompteShard shard : compteShardRepository.findPourMiseAJour(numeroCompte)) {
+            total = total.add(shard.getSolde());
+            shard.setSolde(BigDecimal.ZERO);
+        }
+        return total;
+    }
+
+    /**
+     * Solde exact du compte : solde principal plus, pour un compte chaud, la somme des shards.
+     */
+    public BigDecimal soldeTotal(Compte compte) {
+        if (!compte.isHot()) {
+            return compte.getSolde();
+        }
+        return compte.getSolde().add(compteShardRepository.sommeSoldes(compte.getNumeroCompte()));
+    }
+
+    /**
+     * Met à jour le cache local des comptes chauds après (dé)configuration des shards.
+     */
+    public void definirShards(String numeroCompte, Integer nombreShards) {
+        if (nombreShards == null) {
+            comptesChauds.remove(numeroCompte);
+        } else {
+            comptesChauds.put(numeroCompte, nombreShards);
+        }
+    }
+
+    /**
+     * Enregistre l'écriture sans charger les comptes (références par clé primaire).
+     */
+    public Transaction enregistrer(TypeTransaction type, BigDecimal montant, String libelle, String description,
+                                   String numeroCompte, String numeroContrepartie) {
+        Transaction transaction = Transaction.builder()
+                .type(type)
+                .statut(StatutTransaction.VALIDEE)
+                .montant(montant)
+                .devise("TND")
+                .description(description)
+                .libelle(libelle)
+                .compte(compteRepository.getReferenceById(numeroCompte))
+                .compteDestination(numeroContrepartie != null ?
+                        compteRepository.getReferenceById(numeroContrepartie) : null)
+                .build();
+
+        return transactionRepository.save(transaction);
+    }
+
+    private boolean crediterShard(String numeroCompte, BigDecimal montant, int shards) {
+        int index = ThreadLocalRandom.current().nextInt(shards);
+        return compteShardRepository.crediter(numeroCompte, index, montant) == 1;
+    }
+
+    private static Set<TypeCompte> typesAutorises(BigDecimal montant) {
+        Set<TypeCompte> types = EnumSet.noneOf(TypeCompte.class);
+        for (TypeCompte type : TypeCompte.values()) {
+            if (montant.compareTo(limiteRetrait(type)) <= 0) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    private static BigDecimal limiteRetrait(TypeCompte type) {
+        return type == TypeCompte.COURANT ? CompteCourant.LIMITE_RETRAIT : CompteEpargne.LIMITE_RETRAIT;
+    }
+}
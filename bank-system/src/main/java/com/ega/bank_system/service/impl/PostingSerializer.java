@@ -0,0 +1,99 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Sérialisation en mémoire des imputations par compte (verrous "striped").
+ * Quand elle est activée, les imputations d'un même compte attendent ici, avant
+ * d'emprunter une connexion au pool, au lieu d'attendre le verrou de ligne dans PostgreSQL.
+ * Les comptes tombant sur des stripes différentes restent traités en parallèle.
+ */
+@Component
+public class PostingSerializer {
+
+    private final boolean actif;
+    private final long delaiMaxMs;
+    private final ReentrantLock[] verrous;
+    private final int masque;
+
+    public PostingSerializer(
+            @Value("${app.transaction.serialization.enabled:false}") boolean actif,
+            @Value("${app.transaction.serialization.stripes:1024}") int stripes,
+            @Value("${app.transaction.serialization.lock-timeout-ms:5000}") long delaiMaxMs) {
+        this.actif = actif;
+        this.delaiMaxMs = delaiMaxMs;
+        // Arrondi à la puissance de deux supérieure pour indexer par masque
+        int taille = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.verrous = new ReentrantLock[taille];
+        for (int i = 0; i < taille; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+        this.masque = taille - 1;
+    }
+
+    /**
+     * Exécute l'imputation en exclusion mutuelle avec les autres imputations du compte.
+     */
+    public <T> T executer(String numeroCompte, Supplier<T> imputation) {
+        if (!actif) {
+            return imputation.get();
+        }
+        ReentrantLock verrou = verrous[stripe(numeroCompte)];
+        acquerir(verrou, numeroCompte);
+        try {
+            return imputation.get();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Exécute une imputation touchant deux comptes ; les stripes sont prises dans l'ordre
+     * de leur indice pour rester sans interblocage.
+     */
+    public <T> T executer(String compteA, String compteB, Supplier<T> imputation) {
+        if (!actif) {
+            return imputation.get();
+        }
+        int a = stripe(compteA);
+        int b = stripe(compteB);
+        if (a == b) {
+            return executer(compteA, imputation);
+        }
+        ReentrantLock premier = verrous[Math.min(a, b)];
+        ReentrantLock second = verrous[Math.max(a, b)];
+        acquerir(premier, a < b ? compteA : compteB);
+        try {
+            acquerir(second, a < b ? compteB : compteA);
+            try {
+                return imputation.get();
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            premier.unlock();
+        }
+    }
+
+    private int stripe(String numeroCompte) {
+        int h = numeroCompte.hashCode();
+        return (h ^ (h >>> 16)) & masque;
+    }
+
+    private void acquerir(ReentrantLock verrou, String numeroCompte) {
+        try {
+            if (!verrou.tryLock(delaiMaxMs, TimeUnit.MILLISECONDS)) {
+                throw new BusinessException("Compte trop sollicité, veuillez réessayer: " + numeroCompte);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Imputation interrompue sur le compte " + numeroCompte);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.repository.CompteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Replie périodiquement les shards des comptes chauds dans leur solde principal,
+ * pour que les débits trouvent le plus souvent le solde déjà consolidé.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardConsolidator {
+
+    private final CompteRepository compteRepository;
+    private final PostingEngine postingEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${app.compte.hot.consolidation-interval-ms:60000}")
+    public void consoliderComptesChauds() {
+        for (String numeroCompte : compteRepository.findNumerosComptesChauds()) {
+            try {
+                // Une transaction courte par compte pour ne pas garder tous les shards verrouillés
+                BigDecimal replie = transactionTemplate.execute(status -> postingEngine.consolider(numeroCompte));
+                log.debug("Compte chaud {} consolidé ({} replié)", numeroCompte, replie);
+            } catch (RuntimeException e) {
+                log.warn("Consolidation du compte {} impossible: {}", numeroCompte, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.ega.bank_system.service.impl;
 
+import com.ega.bank_system.dto.FiltreTransactions;
+import com.ega.bank_system.dto.HistoriqueTransactionsDTO;
+import com.ega.bank_system.dto.TotalParTypeDTO;
 import com.ega.bank_system.dto.TransactionDTO;
+import com.ega.bank_system.dto.TransactionJournalLigne;
+import com.ega.bank_system.dto.TransactionLigne;
 import com.ega.bank_system.dto.VirementRequest;
 import com.ega.bank_system.entity.Compte;
 import com.ega.bank_system.entity.Transaction;
@@ -8,19 +13,30 @@ import com.ega.bank_system.enums.StatutTransaction;
 import com.ega.bank_system.enums.TypeTransaction;
 import com.ega.bank_system.exception.BusinessException;
 import com.ega.bank_system.exception.ResourceNotFoundException;
-import com.ega.bank_system.exception.SoldeInsuffisantException;
 import com.ega.bank_system.repository.CompteRepository;
 import com.ega.bank_system.repository.TransactionRepository;
 import com.ega.bank_system.service.TransactionService;
+import com.ega.bank_system.util.CurseurHistorique;
+import com.ega.bank_system.util.FluxJson;
+import com.ega.bank_system.util.Pagination;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +44,16 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final CompteRepository compteRepository;
+    private final PostingEngine postingEngine;
+    private final VirementExecutor virementExecutor;
+    private final PostingSerializer postingSerializer;
+    private final PostingBatcher postingBatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Bornes du journal quand la période n'est pas précisée, pour ne jamais lier de paramètre null
+    private static final LocalDate DEBUT_JOURNAL = LocalDate.of(1970, 1, 1);
+    private static final LocalDate FIN_JOURNAL = LocalDate.of(9999, 12, 30);
 
     @Value("${app.transaction.max-withdrawal:5000}")
     private BigDecimal maxWithdrawal;
@@ -35,42 +61,37 @@ public class TransactionServiceImpl implements TransactionService {
     @Value("${app.transaction.max-transfer:10000}")
     private BigDecimal maxTransfer;
 
+    @Value("${app.pagination.max-size:200}")
+    private int maxPageSize;
+
     @Override
-    @Transactional
     public TransactionDTO faireDepot(String compteId, BigDecimal montant, String description) {
-        Compte compte = compteRepository.findByNumeroCompte(compteId)
-                .orElseThrow(() -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId));
-
         if (montant.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessException("Le montant du dépôt doit être positif");
         }
 
-        // Créer la transaction
-        Transaction transaction = Transaction.builder()
-                .type(TypeTransaction.DEPOT)
-                .statut(StatutTransaction.VALIDEE)
-                .montant(montant)
-                .devise("TND")
-                .description(description != null ? description : "Dépôt sur le compte")
-                .libelle("Dépôt")
-                .compte(compte)
-                .build();
+        String texte = description != null ? description : "Dépôt sur le compte";
+
+        // Group commit : l'imputation part avec les autres dépôts/retraits de la même fenêtre
+        if (postingBatcher.isActif()) {
+            return mapToDTO(postingBatcher.imputer(TypeTransaction.DEPOT, compteId, montant, texte));
+        }
 
-        transaction = transactionRepository.save(transaction);
+        // Sérialisation éventuelle par compte avant d'ouvrir la transaction (et d'emprunter une connexion)
+        Transaction transaction = postingSerializer.executer(compteId, () -> transactionTemplate.execute(status -> {
+            // Mettre à jour le solde (UPDATE atomique)
+            postingEngine.crediter(compteId, montant,
+                    () -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId));
 
-        // Mettre à jour le solde
-        compte.deposer(montant);
-        compteRepository.save(compte);
+            // Créer la transaction
+            return postingEngine.enregistrer(TypeTransaction.DEPOT, montant, "Dépôt", texte, compteId, null);
+        }));
 
         return mapToDTO(transaction);
     }
 
     @Override
-    @Transactional
     public TransactionDTO faireRetrait(String compteId, BigDecimal montant, String description) {
-        Compte compte = compteRepository.findByNumeroCompte(compteId)
-                .orElseThrow(() -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId));
-
         if (montant.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessException("Le montant du retrait doit être positif");
         }
@@ -81,100 +102,48 @@ public class TransactionServiceImpl implements TransactionService {
                     "Le montant du retrait dépasse la limite autorisée de %s", maxWithdrawal));
         }
 
-        if (montant.compareTo(compte.getLimiteRetrait()) > 0) {
-            throw new BusinessException(String.format(
-                    "Le montant du retrait dépasse la limite du compte de %s", compte.getLimiteRetrait()));
-        }
+        String texte = description != null ? description : "Retrait du compte";
 
-        // Vérifier le solde
-        if (!compte.peutRetirer(montant)) {
-            throw new SoldeInsuffisantException(compte.getSolde(), montant);
+        if (postingBatcher.isActif()) {
+            return mapToDTO(postingBatcher.imputer(TypeTransaction.RETRAIT, compteId, montant, texte));
         }
 
-        // Créer la transaction
-        Transaction transaction = Transaction.builder()
-                .type(TypeTransaction.RETRAIT)
-                .statut(StatutTransaction.VALIDEE)
-                .montant(montant)
-                .devise("TND")
-                .description(description != null ? description : "Retrait du compte")
-                .libelle("Retrait")
-                .compte(compte)
-                .build();
-
-        transaction = transactionRepository.save(transaction);
+        Transaction transaction = postingSerializer.executer(compteId, () -> transactionTemplate.execute(status -> {
+            // Débit conditionnel : limite du compte et solde vérifiés par l'UPDATE lui-même
+            postingEngine.debiter(compteId, montant, true,
+                    () -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId));
 
-        // Mettre à jour le solde
-        compte.retirer(montant);
-        compteRepository.save(compte);
+            // Créer la transaction
+            return postingEngine.enregistrer(TypeTransaction.RETRAIT, montant, "Retrait", texte, compteId, null);
+        }));
 
         return mapToDTO(transaction);
     }
 
     @Override
-    @Transactional
     public TransactionDTO faireVirement(VirementRequest virementRequest) {
-        Compte compteSource = compteRepository.findByNumeroCompte(virementRequest.getCompteSource())
-                .orElseThrow(() -> new ResourceNotFoundException("Compte source non trouvé: " + virementRequest.getCompteSource()));
+        String source = virementRequest.getCompteSource();
+        String destination = virementRequest.getCompteDestination();
+        BigDecimal montant = virementRequest.getMontant();
 
-        Compte compteDestination = compteRepository.findByNumeroCompte(virementRequest.getCompteDestination())
-                .orElseThrow(() -> new ResourceNotFoundException("Compte destination non trouvé: " + virementRequest.getCompteDestination()));
-
-        if (compteSource.getNumeroCompte().equals(compteDestination.getNumeroCompte())) {
+        if (source.equals(destination)) {
             throw new BusinessException("Le virement vers le même compte n'est pas autorisé");
         }
 
-        if (virementRequest.getMontant().compareTo(BigDecimal.ZERO) <= 0) {
+        if (montant.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessException("Le montant du virement doit être positif");
         }
 
         // Vérifier les limites
-        if (virementRequest.getMontant().compareTo(maxTransfer) > 0) {
+        if (montant.compareTo(maxTransfer) > 0) {
             throw new BusinessException(String.format(
                     "Le montant du virement dépasse la limite autorisée de %s", maxTransfer));
         }
 
-        // Vérifier le solde source
-        if (!compteSource.peutRetirer(virementRequest.getMontant())) {
-            throw new SoldeInsuffisantException(compteSource.getSolde(), virementRequest.getMontant());
-        }
-
-        // Créer la transaction source (débit)
-        Transaction transactionSource = Transaction.builder()
-                .type(TypeTransaction.VIREMENT_EMIS)
-                .statut(StatutTransaction.VALIDEE)
-                .montant(virementRequest.getMontant())
-                .devise("TND")
-                .description(virementRequest.getDescription() != null ?
-                        virementRequest.getDescription() : "Virement vers " + compteDestination.getNumeroCompte())
-                .libelle("Virement émis")
-                .compte(compteSource)
-                .compteDestination(compteDestination)
-                .build();
-
-        transactionSource = transactionRepository.save(transactionSource);
-
-        // Créer la transaction destination (crédit)
-        Transaction transactionDestination = Transaction.builder()
-                .type(TypeTransaction.VIREMENT_RECU)
-                .statut(StatutTransaction.VALIDEE)
-                .montant(virementRequest.getMontant())
-                .devise("TND")
-                .description(virementRequest.getDescription() != null ?
-                        virementRequest.getDescription() : "Virement reçu de " + compteSource.getNumeroCompte())
-                .libelle("Virement reçu")
-                .compte(compteDestination)
-                .compteDestination(compteSource)
-                .build();
-
-        transactionRepository.save(transactionDestination);
-
-        // Mettre à jour les soldes
-        compteSource.retirer(virementRequest.getMontant());
-        compteDestination.deposer(virementRequest.getMontant());
-
-        compteRepository.save(compteSource);
-        compteRepository.save(compteDestination);
+        // Mettre à jour les soldes dans l'ordre canonique des comptes, avec rejeu en cas de conflit
+        Transaction transactionSource = postingSerializer.executer(source, destination,
+                () -> virementExecutor.executer(source, destination, montant,
+                        () -> enregistrerVirement(source, destination, montant, virementRequest.getDescription())));
 
         return mapToDTO(transactionSource);
     }
@@ -196,34 +165,132 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public List<TransactionDTO> getTransactionsByCompte(String compteId) {
-        if (!compteRepository.existsByNumeroCompte(compteId)) {
+    public HistoriqueTransactionsDTO getTransactionsByCompte(String compteId, String curseur, int size) {
+        if (size <= 0) {
+            throw new BusinessException("La taille de page doit être strictement positive");
+        }
+        int taille = Math.min(size, maxPageSize);
+
+        // Une ligne de plus que la page pour savoir s'il en reste une suivante
+        Limit limite = Limit.of(taille + 1);
+        List<TransactionLigne> lignes;
+        if (curseur == null || curseur.isBlank()) {
+            lignes = transactionRepository.findHistorique(compteId, limite);
+        } else {
+            CurseurHistorique position = CurseurHistorique.decoder(curseur);
+            lignes = transactionRepository.findHistoriqueApres(compteId, position.dateOperation(), position.id(), limite);
+        }
+
+        // Le contrôle d'existence n'est payé que si la page est vide
+        if (lignes.isEmpty() && !compteRepository.existsByNumeroCompte(compteId)) {
             throw new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId);
         }
 
-        return transactionRepository.findByCompteNumeroCompte(compteId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        String curseurSuivant = null;
+        if (lignes.size() > taille) {
+            lignes = lignes.subList(0, taille);
+            TransactionLigne derniere = lignes.get(taille - 1);
+            curseurSuivant = new CurseurHistorique(derniere.dateOperation(), derniere.id()).encoder();
+        }
+
+        return HistoriqueTransactionsDTO.builder()
+                .transactions(lignes.stream().map(TransactionLigne::versDTO).collect(Collectors.toList()))
+                .curseurSuivant(curseurSuivant)
+                .build();
+    }
+
+    @Override
+    public HistoriqueTransactionsDTO getJournal(FiltreTransactions filtre, String curseur, int size) {
+        if (size <= 0) {
+            throw new BusinessException("La taille de page doit être strictement positive");
+        }
+        int taille = Math.min(size, maxPageSize);
+        CriteresJournal criteres = CriteresJournal.de(filtre);
+
+        Limit limite = Limit.of(taille + 1);
+        List<TransactionJournalLigne> lignes;
+        if (curseur == null || curseur.isBlank()) {
+            lignes = transactionRepository.findJournal(criteres.types(), criteres.statuts(),
+                    criteres.debut(), criteres.fin(), criteres.motif(), limite);
+        } else {
+            CurseurHistorique position = CurseurHistorique.decoder(curseur);
+            lignes = transactionRepository.findJournalApres(criteres.types(), criteres.statuts(),
+                    criteres.debut(), criteres.fin(), criteres.motif(), position.dateOperation(), position.id(), limite);
+        }
+
+        String curseurSuivant = null;
+        if (lignes.size() > taille) {
+            lignes = lignes.subList(0, taille);
+            TransactionJournalLigne derniere = lignes.get(taille - 1);
+            curseurSuivant = new CurseurHistorique(derniere.dateOperation(), derniere.id()).encoder();
+        }
+
+        return HistoriqueTransactionsDTO.builder()
+                .transactions(lignes.stream().map(TransactionJournalLigne::versDTO).collect(Collectors.toList()))
+                .curseurSuivant(curseurSuivant)
+                .build();
+    }
+
+    @Override
+    public List<TotalParTypeDTO> getTotauxJournal(FiltreTransactions filtre) {
+        CriteresJournal criteres = CriteresJournal.de(filtre);
+        return transactionRepository.totauxJournal(criteres.types(), criteres.statuts(),
+                criteres.debut(), criteres.fin(), criteres.motif());
     }
 
     @Override
     public List<TransactionDTO> getTransactionsByPeriod(String compteId, LocalDateTime startDate, LocalDateTime endDate) {
-        if (!compteRepository.existsByNumeroCompte(compteId)) {
+        List<TransactionLigne> lignes = transactionRepository.findByCompteNumeroCompteAndDateOperationBetween(
+                compteId, startDate, endDate);
+        if (lignes.isEmpty() && !compteRepository.existsByNumeroCompte(compteId)) {
             throw new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId);
         }
 
-        return transactionRepository.findByCompteNumeroCompteAndDateOperationBetween(compteId, startDate, endDate)
-                .stream()
-                .map(this::mapToDTO)
+        return lignes.stream()
+                .map(TransactionLigne::versDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<TotalParTypeDTO> getTotauxByPeriod(String compteId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<TotalParTypeDTO> totaux = transactionRepository.totauxParType(compteId, startDate, endDate,
+                StatutTransaction.VALIDEE);
+        if (totaux.isEmpty() && !compteRepository.existsByNumeroCompte(compteId)) {
+            throw new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId);
+        }
+        return totaux;
+    }
+
     @Override
     public BigDecimal getSolde(String compteId) {
         Compte compte = compteRepository.findByNumeroCompte(compteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Compte non trouvé avec numéro: " + compteId));
 
-        return compte.getSolde();
+        return postingEngine.soldeTotal(compte);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exporterTransactions(String compteId, OutputStream sortie) throws IOException {
+        try (Stream<TransactionLigne> lignes = transactionRepository.streamHistorique(compteId)) {
+            FluxJson.ecrireTableau(lignes.map(TransactionLigne::versDTO), sortie, objectMapper);
+        }
+    }
+
+    private Transaction enregistrerVirement(String source, String destination, BigDecimal montant, String description) {
+        // Créer la transaction source (débit)
+        Transaction transactionSource = postingEngine.enregistrer(TypeTransaction.VIREMENT_EMIS, montant,
+                "Virement émis",
+                description != null ? description : "Virement vers " + destination,
+                source, destination);
+
+        // Créer la transaction destination (crédit)
+        postingEngine.enregistrer(TypeTransaction.VIREMENT_RECU, montant,
+                "Virement reçu",
+                description != null ? description : "Virement reçu de " + source,
+                destination, source);
+
+        return transactionSource;
     }
 
     private TransactionDTO mapToDTO(Transaction transaction) {
@@ -242,4 +309,32 @@ public class TransactionServiceImpl implements TransactionService {
                         transaction.getCompteDestination().getNumeroCompte() : null)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Critères du journal prêts à lier : ensembles complets à défaut de filtre, période en
+     * intervalle [debut, fin[ de jours entiers, motif LIKE échappé ou '%'.
+     */
+    private record CriteresJournal(Set<TypeTransaction> types,
+                                   Set<StatutTransaction> statuts,
+                                   LocalDateTime debut,
+                                   LocalDateTime fin,
+                                   String motif) {
+
+        static CriteresJournal de(FiltreTransactions filtre) {
+            LocalDate debut = filtre.debut() != null ? filtre.debut() : DEBUT_JOURNAL;
+            LocalDate fin = filtre.fin() != null ? filtre.fin() : FIN_JOURNAL;
+            if (debut.isAfter(fin)) {
+                throw new BusinessException("La date de début doit précéder la date de fin");
+            }
+            String recherche = filtre.recherche() != null ? filtre.recherche().trim() : "";
+            return new CriteresJournal(
+                    filtre.types() == null || filtre.types().isEmpty()
+                            ? EnumSet.allOf(TypeTransaction.class) : filtre.types(),
+                    filtre.statuts() == null || filtre.statuts().isEmpty()
+                            ? EnumSet.allOf(StatutTransaction.class) : filtre.statuts(),
+                    debut.atStartOfDay(),
+                    fin.plusDays(1).atStartOfDay(),
+                    recherche.isEmpty() ? "%" : Pagination.motifContient(recherche));
+        }
+    }
+}
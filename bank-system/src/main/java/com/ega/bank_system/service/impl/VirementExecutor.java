@@ -0,0 +1,216 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.entity.Compte;
+import com.ega.bank_system.exception.ResourceNotFoundException;
+import com.ega.bank_system.exception.SoldeInsuffisantException;
+import com.ega.bank_system.repository.CompteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Exécute les virements sans interblocage : les deux comptes sont toujours verrouillés
+ * dans l'ordre canonique des numéros de compte, quel que soit le sens du virement.
+ * Chaque tentative s'exécute dans sa propre transaction ; les échecs de verrouillage
+ * ou de sérialisation sont rejoués avec un délai aléatoire borné.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VirementExecutor {
+
+    public enum Mode {
+        /** UPDATE conditionnels : les verrous de ligne sont pris par la base, dans l'ordre canonique */
+        PESSIMISTIC,
+        /** Lecture puis écriture contrôlée par @Version, rejouée en cas de conflit */
+        OPTIMISTIC
+    }
+
+    // Nombre maximal de comptes suivis individuellement dans les métriques de contention
+    private static final int MAX_COMPTES_SUIVIS = 1000;
+
+    private final PostingEngine postingEngine;
+    private final CompteRepository compteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transaction.virement.lock-mode:PESSIMISTIC}")
+    private Mode mode;
+
+    @Value("${app.transaction.virement.max-attempts:5}")
+    private int maxTentatives;
+
+    @Value("${app.transaction.virement.backoff-ms:10}")
+    private long delaiInitialMs;
+
+    @Value("${app.transaction.virement.max-backoff-ms:200}")
+    private long delaiMaxMs;
+
+    private final LongAdder virements = new LongAdder();
+    private final LongAdder rejeux = new LongAdder();
+    private final LongAdder abandons = new LongAdder();
+    private final LongAdder attenteVerrouNanos = new LongAdder();
+    private final LongAccumulator attenteVerrouMaxNanos = new LongAccumulator(Math::max, 0);
+    private final Map<String, LongAdder> rejeuxParCompte = new ConcurrentHashMap<>();
+
+    /**
+     * Déplace le montant de la source vers la destination puis exécute les écritures,
+     * le tout dans une même transaction, rejouée si nécessaire.
+     */
+    public <T> T executer(String source, String destination, BigDecimal montant, Supplier<T> ecritures) {
+        virements.increment();
+        for (int tentative = 1; ; tentative++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    deplacer(source, destination, montant);
+                    return ecritures.get();
+                });
+            } catch (ConcurrencyFailureException e) {
+                enregistrerRejeu(source, destination);
+                if (tentative >= maxTentatives) {
+                    abandons.increment();
+                    log.warn("Virement {} -> {} abandonné après {} tentatives", source, destination, tentative);
+                    throw e;
+                }
+                log.debug("Conflit sur le virement {} -> {} (tentative {}): {}", source, destination, tentative, e.getMessage());
+                attendre(tentative);
+            }
+        }
+    }
+
+    /**
+     * Instantané des métriques de contention.
+     */
+    public Map<String, Object> metriques() {
+        Map<String, Object> metriques = new LinkedHashMap<>();
+        metriques.put("mode", mode);
+        metriques.put("virements", virements.sum());
+        metriques.put("rejeux", rejeux.sum());
+        metriques.put("abandons", abandons.sum());
+        metriques.put("attenteVerrouTotaleMs", attenteVerrouNanos.sum() / 1_000_000);
+        metriques.put("attenteVerrouMaxMs", attenteVerrouMaxNanos.get() / 1_000_000);
+        Map<String, Long> parCompte = new LinkedHashMap<>();
+        rejeuxParCompte.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(20)
+                .forEach(entry -> parCompte.put(entry.getKey(), entry.getValue().sum()));
+        metriques.put("comptesLesPlusContestes", parCompte);
+        return metriques;
+    }
+
+    private void deplacer(String source, String destination, BigDecimal montant) {
+        long debut = System.nanoTime();
+        try {
+            if (mode == Mode.OPTIMISTIC) {
+                deplacerOptimiste(source, destination, montant);
+            } else {
+                deplacerPessimiste(source, destination, montant);
+            }
+        } finally {
+            long attente = System.nanoTime() - debut;
+            attenteVerrouNanos.add(attente);
+            attenteVerrouMaxNanos.accumulate(attente);
+        }
+    }
+
+    private void deplacerPessimiste(String source, String destination, BigDecimal montant) {
+        // Les UPDATE verrouillent les lignes : on les émet toujours dans l'ordre des numéros
+        if (source.compareTo(destination) < 0) {
+            debiterSource(source, montant);
+            crediterDestination(destination, montant);
+        } else {
+            crediterDestination(destination, montant);
+            debiterSource(source, montant);
+        }
+    }
+
+    private void deplacerOptimiste(String source, String destination, BigDecimal montant) {
+        Compte compteSource;
+        Compte compteDestination;
+        if (source.compareTo(destination) < 0) {
+            compteSource = chargerSource(source);
+            compteDestination = chargerDestination(destination);
+        } else {
+            compteDestination = chargerDestination(destination);
+            compteSource = chargerSource(source);
+        }
+
+        if (!compteSource.peutRetirer(montant) && compteSource.isHot()) {
+            compteSource.deposer(postingEngine.replierShards(source));
+        }
+        if (!compteSource.peutRetirer(montant)) {
+            throw new SoldeInsuffisantException(compteSource.getSolde(), montant);
+        }
+
+        compteSource.retirer(montant);
+        compteDestination.deposer(montant);
+
+        // Le contrôle de version échoue à l'écriture si un autre agent a modifié un compte entre-temps
+        if (source.compareTo(destination) < 0) {
+            compteRepository.saveAndFlush(compteSource);
+            compteRepository.saveAndFlush(compteDestination);
+        } else {
+            compteRepository.saveAndFlush(compteDestination);
+            compteRepository.saveAndFlush(compteSource);
+        }
+    }
+
+    private void debiterSource(String source, BigDecimal montant) {
+        postingEngine.debiter(source, montant, false,
+                () -> new ResourceNotFoundException("Compte source non trouvé: " + source));
+    }
+
+    private void crediterDestination(String destination, BigDecimal montant) {
+        postingEngine.crediter(destination, montant,
+                () -> new ResourceNotFoundException("Compte destination non trouvé: " + destination));
+    }
+
+    private Compte chargerSource(String source) {
+        return compteRepository.findByNumeroCompte(source)
+                .orElseThrow(() -> new ResourceNotFoundException("Compte source non trouvé: " + source));
+    }
+
+    private Compte chargerDestination(String destination) {
+        return compteRepository.findByNumeroCompte(destination)
+                .orElseThrow(() -> new ResourceNotFoundException("Compte destination non trouvé: " + destination));
+    }
+
+    private void enregistrerRejeu(String source, String destination) {
+        rejeux.increment();
+        compteurRejeux(source);
+        compteurRejeux(destination);
+    }
+
+    private void compteurRejeux(String numeroCompte) {
+        LongAdder compteur = rejeuxParCompte.get(numeroCompte);
+        if (compteur == null && rejeuxParCompte.size() < MAX_COMPTES_SUIVIS) {
+            compteur = rejeuxParCompte.computeIfAbsent(numeroCompte, k -> new LongAdder());
+        }
+        if (compteur != null) {
+            compteur.increment();
+        }
+    }
+
+    private void attendre(int tentative) {
+        // Backoff exponentiel avec "full jitter" pour désynchroniser les agents en conflit
+        long plafond = Math.min(delaiMaxMs, delaiInitialMs << Math.min(tentative - 1, 16));
+        long delai = ThreadLocalRandom.current().nextLong(plafond + 1);
+        try {
+            Thread.sleep(delai);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Virement interrompu pendant l'attente de rejeu", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ega.bank_system.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom compact et thread-safe pour des chaînes.
+ * Un résultat négatif est certain ; un résultat positif peut être un faux positif
+ * (probabilité fixée à la construction).
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long nombreBits;
+    private final int nombreHachages;
+
+    public BloomFilter(long capaciteAttendue, double tauxFauxPositifs) {
+        long n = Math.max(1, capaciteAttendue);
+        long m = (long) Math.ceil(-n * Math.log(tauxFauxPositifs) / (Math.log(2) * Math.log(2)));
+        int mots = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(mots);
+        this.nombreBits = (long) mots << 6;
+        this.nombreHachages = Math.max(1, (int) Math.round((double) nombreBits / n * Math.log(2)));
+    }
+
+    /**
+     * Ajoute la valeur au filtre.
+     */
+    public void put(CharSequence valeur) {
+        putEmpreinte(Empreinte.de(valeur));
+    }
+
+    /**
+     * Ajoute une valeur déjà réduite à son empreinte 64 bits.
+     */
+    public void putEmpreinte(long h) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= nombreHachages; i++) {
+            long position = positionBit(h1 + i * h2);
+            int mot = (int) (position >>> 6);
+            long masque = 1L << position;
+            long courant;
+            while (((courant = bits.get(mot)) & masque) == 0
+                    && !bits.compareAndSet(mot, courant, courant | masque)) {
+                // rejouer jusqu'à ce que le bit soit posé
+            }
+        }
+    }
+
+    /**
+     * Indique si la valeur a pu être ajoutée au filtre.
+     */
+    public boolean mightContain(CharSequence valeur) {
+        return mightContainEmpreinte(Empreinte.de(valeur));
+    }
+
+    /**
+     * Indique si l'empreinte a pu être ajoutée au filtre.
+     */
+    public boolean mightContainEmpreinte(long h) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= nombreHachages; i++) {
+            long position = positionBit(h1 + i * h2);
+            if ((bits.get((int) (position >>> 6)) & (1L << position)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long positionBit(int hachage) {
+        return (hachage & 0x7fffffffL) % nombreBits;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ega.bank_system.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocation des codes clients ("CLI" + initiales + numéro).
+ * Les numéros sont réservés par blocs dans une séquence PostgreSQL partagée par tous les nœuds,
+ * puis distribués en mémoire sans verrou. Le bloc suivant est préchargé en arrière-plan
+ * à mi-consommation : aucun aller-retour base ni aucune collision sur le chemin critique.
+ */
+@Slf4j
+@Component
+public class ClientCodeAllocator {
+
+    private static final String SEQUENCE = "client_code_block_seq";
+    // Les anciens codes se terminaient par currentTimeMillis() % 10000 : on démarre au-delà
+    private static final long PREMIER_NUMERO = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tailleBlocParDefaut;
+
+    private final AtomicReference<Bloc> courant = new AtomicReference<>(Bloc.VIDE);
+    private final AtomicReference<CompletableFuture<Bloc>> reserve = new AtomicReference<>();
+    private final ExecutorService prechargement = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "client-code-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long tailleBloc;
+
+    public ClientCodeAllocator(JdbcTemplate jdbcTemplate,
+                               @Value("${app.client.code-block-size:1000}") int tailleBlocParDefaut) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tailleBlocParDefaut = tailleBlocParDefaut;
+    }
+
+    @PostConstruct
+    void initialiser() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE
+                + " START WITH " + PREMIER_NUMERO + " INCREMENT BY " + tailleBlocParDefaut);
+        // La taille de bloc fait foi dans la séquence : tous les nœuds partagent la même
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Long.class, SEQUENCE);
+        tailleBloc = increment != null ? increment : tailleBlocParDefaut;
+    }
+
+    @PreDestroy
+    void arreter() {
+        prechargement.shutdownNow();
+    }
+
+    /**
+     * Alloue un code client unique pour le nom et le prénom donnés.
+     */
+    public String allouer(String nom, String prenom) {
+        String initiales = (nom.substring(0, 1) + prenom.substring(0, 1)).toUpperCase();
+        return "CLI" + initiales + prochainNumero();
+    }
+
+    long prochainNumero() {
+        while (true) {
+            Bloc bloc = courant.get();
+            long numero = bloc.prochain.getAndIncrement();
+            if (numero < bloc.fin) {
+                if (numero == bloc.seuilPrechargement) {
+                    precharger();
+                }
+                return numero;
+            }
+            basculer(bloc);
+        }
+    }
+
+    private void precharger() {
+        CompletableFuture<Bloc> futur = new CompletableFuture<>();
+        if (reserve.compareAndSet(null, futur)) {
+            prechargement.execute(() -> {
+                try {
+                    futur.complete(reserverBloc());
+                } catch (RuntimeException e) {
+                    futur.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    // Rare (une fois par bloc) : seul le thread qui épuise le bloc installe le suivant
+    private synchronized void basculer(Bloc epuise) {
+        if (courant.get() != epuise) {
+            return;
+        }
+        CompletableFuture<Bloc> futur = reserve.getAndSet(null);
+        Bloc suivant = futur != null ? futur.join() : reserverBloc();
+        courant.set(suivant);
+    }
+
+    private Bloc reserverBloc() {
+        Long debut = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE + "')", Long.class);
+        log.debug("Bloc de codes clients réservé à partir de {}", debut);
+        return new Bloc(debut, debut + tailleBloc);
+    }
+
+    private static final class Bloc {
+        private static final Bloc VIDE = new Bloc(0, 0);
+
+        private final AtomicLong prochain;
+        private final long fin;
+        private final long seuilPrechargement;
+
+        private Bloc(long debut, long fin) {
+            this.prochain = new AtomicLong(debut);
+            this.fin = fin;
+            this.seuilPrechargement = debut + (fin - debut) / 2;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ega.bank_system.util;
+
+import com.ega.bank_system.exception.BusinessException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de l'historique des transactions : position (date_operation, id)
+ * de la dernière ligne renvoyée, sérialisée en Base64 URL.
+ */
+public record CurseurHistorique(LocalDateTime dateOperation, long id) {
+
+    private static final int TAILLE = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encoder() {
+        ByteBuffer buffer = ByteBuffer.allocate(TAILLE)
+                .putLong(dateOperation.toEpochSecond(ZoneOffset.UTC))
+                .putInt(dateOperation.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static CurseurHistorique decoder(String curseur) {
+        try {
+            byte[] octets = Base64.getUrlDecoder().decode(curseur);
+            if (octets.length != TAILLE) {
+                throw new BusinessException("Curseur de pagination invalide");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(octets);
+            LocalDateTime date = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new CurseurHistorique(date, buffer.getLong());
+        } catch (IllegalArgumentException | java.time.DateTimeException | BufferUnderflowException e) {
+            throw new BusinessException("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ega.bank_system.util;
+
+/**
+ * Empreinte 64 bits non cryptographique d'une chaîne, calculée sans allocation.
+ */
+public final class Empreinte {
+
+    private Empreinte() {
+    }
+
+    /**
+     * FNV-1a 64 bits suivi d'un mélange final (avalanche sur tous les bits).
+     */
+    public static long de(CharSequence valeur) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valeur.length(); i++) {
+            h ^= valeur.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ega.bank_system.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Écriture d'un tableau JSON élément par élément : seul l'élément courant est en mémoire,
+ * le tampon du générateur part vers la réponse au fur et à mesure.
+ */
+public final class FluxJson {
+
+    private FluxJson() {
+    }
+
+    /**
+     * Écrit les éléments dans {@code sortie} sous forme de tableau JSON. Ne ferme ni le flux d'éléments
+     * ni {@code sortie} ; retourne le nombre d'éléments écrits.
+     */
+    public static long ecrireTableau(Stream<?> elements, OutputStream sortie, ObjectMapper mapper) throws IOException {
+        long nombre = 0;
+        try (JsonGenerator generateur = mapper.getFactory().createGenerator(sortie)) {
+            generateur.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generateur.writeStartArray();
+            Iterator<?> iterateur = elements.iterator();
+            while (iterateur.hasNext()) {
+                generateur.writeObject(iterateur.next());
+                nombre++;
+            }
+            generateur.writeEndArray();
+        }
+        return nombre;
+    }
+}
@@ -1,23 +1,46 @@
 package com.ega.bank_system.util;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Génération des IBAN des nouveaux comptes.
+ * Le mod-97 est calculé au fil des chiffres tirés, sans construire de représentation numérique intermédiaire.
+ * Un thread de fond maintient une réserve d'IBAN déjà contrôlés contre un filtre de Bloom
+ * chargé au démarrage avec les numéros existants : l'ouverture de compte n'interroge plus la base
+ * pour l'unicité (la contrainte unique sur numero_compte reste le dernier rempart).
+ */
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class IbanGenerator {
 
+    private final JdbcTemplate jdbcTemplate;
+
     @Value("${app.bank.country-code:TN}")
     private String countryCode;
 
     @Value("${app.bank.bank-code:EGA}")
     private String bankCode;
 
+    @Value("${app.bank.iban-pool-size:256}")
+    private int taillePool;
+
+    @Value("${app.bank.iban-filter-capacity:1000000}")
+    private long capaciteFiltre;
+
     private static final Map<String, Integer> IBAN_LENGTHS = new HashMap<>();
-    private static final Random random = new Random();
 
     static {
         // IBAN lengths par pays (code pays -> longueur totale)
@@ -31,81 +54,113 @@ public class IbanGenerator {
         IBAN_LENGTHS.put("NL", 18);
     }
 
-    public String generateIban() {
-        String code = countryCode.toUpperCase();
-        int length = IBAN_LENGTHS.getOrDefault(code, 24);
+    // Gabarit "PPxxBANQUE" et restes mod-97 précalculés pour le pays et la banque configurés
+    private char[] gabarit;
+    private int debutCompte;
+    private int resteBanque;
+    private int resteSuffixe;
+    private int puissanceSuffixe;
 
-        // Générer les chiffres de vérification (IBANChecksum)
-        String checkDigits = generateCheckDigits(code, bankCode);
+    private BloomFilter numerosConnus;
+    private BlockingQueue<String> reserve;
+    private Thread remplisseur;
 
-        // Générer le numéro de compte aléatoire
-        int accountLength = length - code.length() - 2 - bankCode.length();
-        String accountNumber = generateRandomNumbers(accountLength);
+    @PostConstruct
+    void initialiser() {
+        String code = countryCode.toUpperCase();
+        String banque = bankCode.toUpperCase();
+        int longueur = IBAN_LENGTHS.getOrDefault(code, 24);
+
+        gabarit = new char[longueur];
+        code.getChars(0, 2, gabarit, 0);
+        gabarit[2] = '0';
+        gabarit[3] = '0';
+        banque.getChars(0, banque.length(), gabarit, 4);
+        debutCompte = 4 + banque.length();
+
+        // Ordre de contrôle : BBAN puis pays et "00" ; le suffixe est constant, seul son reste compte
+        resteBanque = mod97(gabarit, 4, debutCompte, 0);
+        resteSuffixe = mod97(gabarit, 0, 4, 0);
+        puissanceSuffixe = 1;
+        for (int i = 0; i < 4; i++) {
+            puissanceSuffixe = puissanceSuffixe * (Character.isLetter(gabarit[i]) ? 100 : 10) % 97;
+        }
 
-        // Construire l'IBAN
-        return code + checkDigits + bankCode + accountNumber;
+        Long existants = jdbcTemplate.queryForObject("SELECT count(*) FROM comptes", Long.class);
+        long nombre = existants != null ? existants : 0;
+        numerosConnus = new BloomFilter(Math.max(capaciteFiltre, nombre * 2), 1e-6);
+        jdbcTemplate.query("SELECT numero_compte FROM comptes", rs -> {
+            numerosConnus.put(rs.getString(1));
+        });
+        log.info("Filtre d'unicité des IBAN chargé avec {} numéros existants", nombre);
+
+        reserve = new ArrayBlockingQueue<>(Math.max(1, taillePool));
+        remplisseur = new Thread(this::remplir, "iban-pool");
+        remplisseur.setDaemon(true);
+        remplisseur.start();
     }
 
-    public boolean validateIban(String iban) {
-        if (iban == null || iban.length() < 15 || iban.length() > 34) {
-            return false;
-        }
-
-        // Vérifier que les 2 premiers caractères sont des lettres et les 2 suivants sont des chiffres
-        if (!iban.substring(0, 2).matches("[A-Z]{2}")) {
-            return false;
-        }
-        if (!iban.substring(2, 4).matches("[0-9]{2}")) {
-            return false;
+    @PreDestroy
+    void arreter() {
+        if (remplisseur != null) {
+            remplisseur.interrupt();
         }
+    }
 
-        // Vérifier les chiffres de contrôle
-        return validateChecksum(iban);
+    /**
+     * Retourne un IBAN valide, inconnu du filtre d'unicité.
+     * Puisé dans la réserve ; généré à la demande si celle-ci est momentanément vide.
+     */
+    public String generateIban() {
+        String iban = reserve.poll();
+        return iban != null ? iban : genererUnique();
     }
 
-    private String generateCheckDigits(String countryCode, String bankCode) {
-        // Générer les chiffres de vérification IBAN (mod-97)
-        String checkString = "00";
-        int check = calculateIbanChecksum(countryCode + checkString + bankCode + "0000000000000000");
-        int checkDigits = (98 - check) % 97;
-        return String.format("%02d", checkDigits);
+    public boolean validateIban(String iban) {
+        return IbanValidator.validerStrict(iban);
     }
 
-    private int calculateIbanChecksum(String ibanPartial) {
-        // Convertir l'IBAN en nombres (A=10, B=11, ..., Z=35)
-        StringBuilder numeric = new StringBuilder();
-        for (char c : ibanPartial.toCharArray()) {
-            if (c >= '0' && c <= '9') {
-                numeric.append(c);
-            } else if (c >= 'A' && c <= 'Z') {
-                numeric.append(c - 'A' + 10);
+    private void remplir() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                reserve.put(genererUnique());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-
-        // Calculer le mod 97
-        return mod97(numeric.toString());
     }
 
-    private int mod97(String numeric) {
-        int remainder = 0;
-        for (char digit : numeric.toCharArray()) {
-            remainder = (remainder * 10 + Character.getNumericValue(digit)) % 97;
+    // Synchronisé pour que le contrôle et l'ajout au filtre soient atomiques entre la réserve et le repli
+    private synchronized String genererUnique() {
+        while (true) {
+            String candidat = genererCandidat();
+            if (!numerosConnus.mightContain(candidat)) {
+                numerosConnus.put(candidat);
+                return candidat;
+            }
         }
-        return remainder;
     }
 
-    private boolean validateChecksum(String iban) {
-        // Déplacer les 4 premiers caractères à la fin et convertir en nombres
-        String rearranged = iban.substring(4) + iban.substring(0, 4);
-        return calculateIbanChecksum(rearranged) == 1;
+    private String genererCandidat() {
+        char[] iban = gabarit.clone();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int reste = resteBanque;
+        for (int i = debutCompte; i < iban.length; i++) {
+            int chiffre = random.nextInt(10);
+            iban[i] = (char) ('0' + chiffre);
+            reste = (reste * 10 + chiffre) % 97;
+        }
+        int controle = 98 - (reste * puissanceSuffixe + resteSuffixe) % 97;
+        iban[2] = (char) ('0' + controle / 10);
+        iban[3] = (char) ('0' + controle % 10);
+        return new String(iban);
     }
 
-    private String generateRandomNumbers(int length) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < length; i++) {
-            sb.append(random.nextInt(10));
+    private static int mod97(char[] caracteres, int debut, int fin, int reste) {
+        for (int i = debut; i < fin; i++) {
+            char c = caracteres[i];
+            reste = c >= '0' && c <= '9' ? (reste * 10 + (c - '0')) % 97 : (reste * 100 + (c - 'A' + 10)) % 97;
         }
-        return sb.toString();
+        return reste;
     }
 }
-
@@ -0,0 +1,130 @@
+package com.ega.bank_system.util;
+
+/**
+ * Contrôle de structure et de clé mod-97 des IBAN, directement sur les caractères ou les octets
+ * (ASCII) d'une ligne : aucune chaîne intermédiaire n'est construite.
+ * {@link #valider} ignore les espaces de présentation ("TN59 EGA1 ...") et accepte les minuscules ;
+ * {@link #validerStrict} n'admet que la forme électronique (majuscules et chiffres, sans séparateur).
+ */
+public final class IbanValidator {
+
+    private static final int LONGUEUR_MIN = 15;
+    private static final int LONGUEUR_MAX = 34;
+
+    private IbanValidator() {
+    }
+
+    public static boolean valider(CharSequence iban) {
+        if (iban == null) {
+            return false;
+        }
+        int longueur = 0;
+        int reste = 0;
+        for (int i = 0; i < iban.length(); i++) {
+            char c = iban.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            int valeur = valeur(c);
+            if (valeur < 0 || !positionValide(longueur, valeur)) {
+                return false;
+            }
+            if (longueur >= 4) {
+                reste = ajouter(reste, valeur);
+            }
+            longueur++;
+        }
+        if (longueur < LONGUEUR_MIN || longueur > LONGUEUR_MAX) {
+            return false;
+        }
+        // Replier l'en-tête (pays et clé) après le BBAN
+        int lus = 0;
+        for (int i = 0; lus < 4; i++) {
+            char c = iban.charAt(i);
+            if (c != ' ') {
+                reste = ajouter(reste, valeur(c));
+                lus++;
+            }
+        }
+        return reste == 1;
+    }
+
+    /**
+     * Forme électronique uniquement, comme les numéros stockés en base.
+     */
+    public static boolean validerStrict(CharSequence iban) {
+        if (iban == null) {
+            return false;
+        }
+        for (int i = 0; i < iban.length(); i++) {
+            char c = iban.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return valider(iban);
+    }
+
+    /**
+     * Valide l'IBAN contenu dans {@code octets[debut, fin)}.
+     */
+    public static boolean valider(byte[] octets, int debut, int fin) {
+        int longueur = 0;
+        int reste = 0;
+        for (int i = debut; i < fin; i++) {
+            byte b = octets[i];
+            if (b == ' ') {
+                continue;
+            }
+            int valeur = valeur((char) (b & 0xff));
+            if (valeur < 0 || !positionValide(longueur, valeur)) {
+                return false;
+            }
+            if (longueur >= 4) {
+                reste = ajouter(reste, valeur);
+            }
+            longueur++;
+        }
+        if (longueur < LONGUEUR_MIN || longueur > LONGUEUR_MAX) {
+            return false;
+        }
+        // Replier l'en-tête (pays et clé) après le BBAN
+        int lus = 0;
+        for (int i = debut; lus < 4; i++) {
+            byte b = octets[i];
+            if (b != ' ') {
+                reste = ajouter(reste, valeur((char) (b & 0xff)));
+                lus++;
+            }
+        }
+        return reste == 1;
+    }
+
+    // Deux lettres, deux chiffres, puis lettres ou chiffres
+    private static boolean positionValide(int position, int valeur) {
+        if (position < 2) {
+            return valeur >= 10;
+        }
+        if (position < 4) {
+            return valeur < 10;
+        }
+        return position < LONGUEUR_MAX;
+    }
+
+    private static int valeur(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static int ajouter(int reste, int valeur) {
+        return valeur < 10 ? (reste * 10 + valeur) % 97 : (reste * 100 + valeur) % 97;
+    }
+}
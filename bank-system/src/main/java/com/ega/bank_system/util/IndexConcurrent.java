@@ -0,0 +1,68 @@
+package com.ega.bank_system.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+/**
+ * Création au démarrage d'index que les annotations JPA ne savent pas décrire (GIN, partiels, INCLUDE).
+ * La construction se fait CONCURRENTLY pour ne pas bloquer les écritures des autres nœuds ; une construction
+ * interrompue laisse un index INVALID, jamais utilisé par le planificateur, qui est alors supprimé et reconstruit.
+ * Les nœuds démarrés ensemble se succèdent sous un verrou consultatif (advisory lock) propre à l'index :
+ * un index INVALID encore en cours de construction n'est donc jamais supprimé par un autre nœud.
+ * À exécuter hors transaction (CONCURRENTLY y est refusé).
+ */
+@Slf4j
+public final class IndexConcurrent {
+
+    private IndexConcurrent() {
+    }
+
+    /**
+     * Garantit la présence d'un index valide {@code nom} ; {@code definition} est la suite de
+     * "CREATE INDEX nom", par exemple "ON clients (created_at)". Retourne vrai si l'index a été construit.
+     * Attend, le cas échéant, la fin de la construction lancée par un autre nœud.
+     */
+    public static boolean assurer(JdbcTemplate jdbcTemplate, String nom, String definition) {
+        // Le verrou consultatif appartient à la session : verrou, contrôle et DDL sur la même connexion
+        Boolean construit = jdbcTemplate.execute((ConnectionCallback<Boolean>) connexion -> assurerSurSession(
+                new JdbcTemplate(new SingleConnectionDataSource(connexion, true)), nom, definition));
+        return Boolean.TRUE.equals(construit);
+    }
+
+    static boolean assurerSurSession(JdbcTemplate session, String nom, String definition) {
+        session.execute("SELECT pg_advisory_lock(hashtext('" + nom + "'))");
+        try {
+            List<Boolean> etat = session.queryForList(
+                    "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?",
+                    Boolean.class, nom);
+            boolean valide = !etat.isEmpty() && Boolean.TRUE.equals(etat.get(0));
+            if (valide) {
+                return false;
+            }
+            if (!etat.isEmpty()) {
+                // Construction hors verrou (manuelle, ou par une version précédente) encore en cours : on la laisse finir
+                if (enConstruction(session, nom)) {
+                    log.warn("Index {} en cours de construction par une autre session, laissé en place", nom);
+                    return false;
+                }
+                log.warn("Index {} invalide (construction interrompue), reconstruction", nom);
+                session.execute("DROP INDEX CONCURRENTLY IF EXISTS " + nom);
+            }
+            session.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + nom + " " + definition);
+            return true;
+        } finally {
+            session.execute("SELECT pg_advisory_unlock(hashtext('" + nom + "'))");
+        }
+    }
+
+    private static boolean enConstruction(JdbcTemplate session, String nom) {
+        Long sessions = session.queryForObject(
+                "SELECT count(*) FROM pg_stat_progress_create_index p JOIN pg_class c ON c.oid = p.index_relid"
+                        + " WHERE c.relname = ?", Long.class, nom);
+        return sessions != null && sessions > 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ega.bank_system.util;
+
+import com.ega.bank_system.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Construction des pages demandées par les endpoints de liste, avec une taille plafonnée.
+ */
+public final class Pagination {
+
+    /** Caractère d'échappement déclaré dans les clauses LIKE ... ESCAPE '!' */
+    public static final char ESCAPE = '!';
+
+    private Pagination() {
+    }
+
+    public static Pageable page(int page, int taille, int tailleMax, Sort tri) {
+        if (page < 0) {
+            throw new BusinessException("Le numéro de page doit être positif ou nul");
+        }
+        if (taille <= 0) {
+            throw new BusinessException("La taille de page doit être strictement positive");
+        }
+        return PageRequest.of(page, Math.min(taille, tailleMax), tri);
+    }
+
+    /**
+     * Motif LIKE "contient" en minuscules, avec échappement des jokers saisis par l'utilisateur.
+     */
+    public static String motifContient(String terme) {
+        StringBuilder motif = new StringBuilder(terme.length() + 2).append('%');
+        for (int i = 0; i < terme.length(); i++) {
+            char c = Character.toLowerCase(terme.charAt(i));
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                motif.append(ESCAPE);
+            }
+            motif.append(c);
+        }
+        return motif.append('%').toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.ega.bank_system.util;
+
+/**
+ * Générateur de références uniques de transactions.
+ */
+public interface ReferenceGenerator {
+
+    /**
+     * Retourne une nouvelle référence, unique et croissante dans le temps.
+     */
+    String next();
+}
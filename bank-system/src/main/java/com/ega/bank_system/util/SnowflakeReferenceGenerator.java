@@ -0,0 +1,70 @@
+package com.ega.bank_system.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Références de transaction au format "Snowflake" :
+ * 41 bits de millisecondes depuis 2024-01-01, 10 bits d'identifiant de nœud, 12 bits de séquence.
+ * Sans verrou (un seul CAS par appel), uniques entre nœuds tant que app.node-id diffère,
+ * et triables par date : "TRX" suivi de l'identifiant sur 19 chiffres.
+ */
+@Component
+public class SnowflakeReferenceGenerator implements ReferenceGenerator {
+
+    private static final long EPOCH = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final int BITS_NOEUD = 10;
+    private static final int BITS_SEQUENCE = 12;
+    private static final long MASQUE_SEQUENCE = (1L << BITS_SEQUENCE) - 1;
+    private static final int MAX_NOEUD = (1 << BITS_NOEUD) - 1;
+
+    private static final String PREFIXE = "TRX";
+    private static final int CHIFFRES = 19;
+
+    private final long noeud;
+
+    // (millisecondes << 12) | séquence du dernier identifiant émis
+    private final AtomicLong etat = new AtomicLong();
+
+    public SnowflakeReferenceGenerator(@Value("${app.node-id:0}") int noeud) {
+        if (noeud < 0 || noeud > MAX_NOEUD) {
+            throw new IllegalArgumentException("app.node-id doit être compris entre 0 et " + MAX_NOEUD);
+        }
+        this.noeud = noeud;
+    }
+
+    @Override
+    public String next() {
+        return format(nextId());
+    }
+
+    /**
+     * Identifiant numérique brut.
+     */
+    public long nextId() {
+        long courant;
+        long suivant;
+        do {
+            courant = etat.get();
+            long maintenant = (System.currentTimeMillis() - EPOCH) << BITS_SEQUENCE;
+            // Même milliseconde (ou horloge qui recule) : on incrémente la séquence ;
+            // en cas de débordement la retenue passe sur la milliseconde suivante.
+            suivant = maintenant > courant ? maintenant : courant + 1;
+        } while (!etat.compareAndSet(courant, suivant));
+
+        long millis = suivant >>> BITS_SEQUENCE;
+        return (millis << (BITS_NOEUD + BITS_SEQUENCE)) | (noeud << BITS_SEQUENCE) | (suivant & MASQUE_SEQUENCE);
+    }
+
+    private static String format(long id) {
+        char[] chars = new char[PREFIXE.length() + CHIFFRES];
+        PREFIXE.getChars(0, PREFIXE.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIXE.length(); i--) {
+            chars[i] = (char) ('0' + (id % 10));
+            id /= 10;
+        }
+        return new String(chars);
+    }
+}
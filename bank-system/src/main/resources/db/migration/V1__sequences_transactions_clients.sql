@@ -0,0 +1,15 @@
+-- Passage des ids de transactions et clients d'IDENTITY à des séquences "pooled" (allocationSize = 50).
+-- Appliqué automatiquement au démarrage par config.IdSequenceInitializer (après la mise à jour du schéma
+-- par Hibernate) ; ce script en est l'équivalent pour une exécution manuelle, rejouable sans effet.
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('transactions_seq', m.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM transactions) m, transactions_seq s
+WHERE s.last_value < m.max_id + 50;
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS clients_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('clients_seq', m.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM clients) m, clients_seq s
+WHERE s.last_value < m.max_id + 50;
+ALTER TABLE clients ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,2 @@
+-- Révocation globale des tokens par utilisateur (tokens émis avant cette date refusés)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_revoked_before TIMESTAMP(6) WITH TIME ZONE;
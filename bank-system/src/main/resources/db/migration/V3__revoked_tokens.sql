@@ -0,0 +1,12 @@
+-- Révocations partagées entre instances (relues périodiquement par chaque nœud)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id            BIGSERIAL PRIMARY KEY,
+    type          VARCHAR(20)                 NOT NULL,
+    empreinte     BIGINT,
+    username      VARCHAR(50),
+    revoque_avant TIMESTAMP(6) WITH TIME ZONE,
+    expiration    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    enregistre_le TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_enregistre_le ON revoked_tokens (enregistre_le);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expiration ON revoked_tokens (expiration);
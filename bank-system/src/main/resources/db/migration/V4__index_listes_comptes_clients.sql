@@ -0,0 +1,3 @@
+-- Listes paginées filtrées par type de compte et par statut client (filtre et tri servis par l'index)
+CREATE INDEX IF NOT EXISTS idx_comptes_type_numero ON comptes (type, numero_compte);
+CREATE INDEX IF NOT EXISTS idx_clients_active_id ON clients (active, id);
@@ -0,0 +1,7 @@
+-- Recherche de clients par trigrammes. Créé au démarrage par ClientSearch, sans bloquer les écritures
+-- (CONCURRENTLY, hors transaction), et reconstruit s'il est resté INVALID après une construction interrompue.
+-- Ce script en est l'équivalent exécutable dans une transaction de migration : sans CONCURRENTLY,
+-- il verrouille les écritures sur clients le temps de la construction.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_clients_recherche_trgm
+    ON clients USING gin ((lower(nom || ' ' || prenom || ' ' || email || ' ' || telephone)) gin_trgm_ops);
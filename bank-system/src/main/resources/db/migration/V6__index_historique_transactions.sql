@@ -0,0 +1,3 @@
+-- Historique d'un compte par pagination "keyset" sur (date_operation, id)
+CREATE INDEX IF NOT EXISTS idx_transactions_compte_date_id
+    ON transactions (compte_id, date_operation DESC, id DESC);
@@ -0,0 +1,21 @@
+-- Chemins d'accès de TransactionRepository (l'historique par compte est couvert par V6)
+
+-- Comptes d'un client : évite le balayage de comptes dans findByCompteClientId
+CREATE INDEX IF NOT EXISTS idx_comptes_client ON comptes (client_id);
+
+-- Virements reçus, et contrôle de clé étrangère à la suppression d'un compte
+CREATE INDEX IF NOT EXISTS idx_transactions_compte_destination ON transactions (compte_destination_id);
+
+-- Recherches par période tous comptes confondus
+CREATE INDEX IF NOT EXISTS idx_transactions_date_operation ON transactions (date_operation);
+
+-- Les deux index suivants sont créés au démarrage par config.TransactionIndexInitializer (CONCURRENTLY,
+-- reconstruits s'ils sont restés INVALID) ; les autres sont déclarés sur les entités.
+
+-- Opérations en attente : quelques lignes parmi des millions, l'index ne contient qu'elles
+CREATE INDEX IF NOT EXISTS idx_transactions_en_attente
+    ON transactions (date_operation) WHERE statut = 'EN_ATTENTE';
+
+-- Totaux des relevés servis par un parcours d'index seul (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_transactions_releve
+    ON transactions (compte_id, date_operation) INCLUDE (type, statut, montant);
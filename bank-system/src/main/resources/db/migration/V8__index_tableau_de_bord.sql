@@ -0,0 +1,3 @@
+-- Évolutions mensuelles du tableau de bord : seuls les six derniers mois sont lus
+CREATE INDEX IF NOT EXISTS idx_clients_created_at ON clients (created_at);
+CREATE INDEX IF NOT EXISTS idx_comptes_date_creation ON comptes (date_creation);
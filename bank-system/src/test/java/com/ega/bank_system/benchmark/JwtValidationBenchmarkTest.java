@@ -0,0 +1,64 @@
+package com.ega.bank_system.benchmark;
+
+import com.ega.bank_system.security.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coût CPU de la validation d'un token par requête : ancien chemin (trois parsings, clé et parseur
+ * reconstruits à chaque appel) contre le chemin vérifié une fois puis servi par le cache.
+ * Mesure indicative (pas de JMH dans le projet) : lancer avec -Dbench.jwt=true.
+ */
+@EnabledIfSystemProperty(named = "bench.jwt", matches = "true")
+class JwtValidationBenchmarkTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void cachedValidationIsCheaperThanTripleParse() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "tailleMaxCache", 10_000);
+        ReflectionTestUtils.invokeMethod(jwtService, "initialiser");
+        String token = jwtService.generateToken(new User("bench@ega.tn", "x", List.of()));
+
+        long ancien = mesurer(() -> ancienChemin(token));
+        long nouveau = mesurer(() -> jwtService.validateToken(token).getSubject());
+
+        assertThat(nouveau)
+                .as("Validation JWT : ancien chemin %d ns/op, chemin en cache %d ns/op", ancien, nouveau)
+                .isLessThan(ancien);
+    }
+
+    private static String ancienChemin(String token) {
+        String username = null;
+        for (int i = 0; i < 3; i++) {
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+            username = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+        }
+        return username;
+    }
+
+    private static long mesurer(Runnable operation) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            operation.run();
+        }
+        long debut = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - debut) / ITERATIONS;
+    }
+}
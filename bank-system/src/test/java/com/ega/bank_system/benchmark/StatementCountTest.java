@@ -0,0 +1,122 @@
+package com.ega.bank_system.benchmark;
+
+import com.ega.bank_system.dto.ClientDTO;
+import com.ega.bank_system.dto.CompteDTO;
+import com.ega.bank_system.enums.TypeCompte;
+import com.ega.bank_system.service.ClientService;
+import com.ega.bank_system.service.CompteService;
+import com.ega.bank_system.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Nombre de requêtes SQL émises par Hibernate pour chaque endpoint de liste : une seule, quel que soit
+ * le nombre de lignes (pas de N+1 sur les associations ni sur les soldes des comptes chauds).
+ * Nécessite une base PostgreSQL de test (les lignes ne sont pas supprimées) :
+ * lancer avec -Dbench.statements=true et la datasource voulue.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "bench.statements", matches = "true")
+class StatementCountTest {
+
+    private static final int TRANSACTIONS = 30;
+
+    @Autowired
+    private ClientService clientService;
+    @Autowired
+    private CompteService compteService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long clientId;
+    private String compteCourant;
+    private String compteEpargne;
+
+    @BeforeEach
+    void preparer() {
+        long suffixe = System.nanoTime() % 100_000_000L;
+        clientId = clientService.createClient(ClientDTO.builder()
+                .nom("Bench").prenom("Requetes")
+                .dateNaissance(LocalDate.of(1990, 1, 1))
+                .sexe("M").adresse("Banc d'essai").nationalite("Test")
+                .telephone("8" + suffixe)
+                .email("requetes" + suffixe + "@ega-bank.tn")
+                .build()).getId();
+        compteCourant = compteService.createCompte(CompteDTO.builder()
+                .clientId(clientId).type(TypeCompte.COURANT).build()).getNumeroCompte();
+        compteEpargne = compteService.createCompte(CompteDTO.builder()
+                .clientId(clientId).type(TypeCompte.EPARGNE).build()).getNumeroCompte();
+        compteService.configurerShards(compteEpargne, true, 4);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactionService.faireDepot(i % 2 == 0 ? compteCourant : compteEpargne, BigDecimal.TEN, null);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void accountListsUseOneStatement() {
+        assertThat(requetes(() -> compteService.getComptesByType(TypeCompte.EPARGNE, 0, 50))).isEqualTo(1);
+        assertThat(requetes(() -> compteService.getAllComptes(0, 50))).isEqualTo(1);
+        assertThat(requetes(() -> compteService.getComptesByClient(clientId))).isEqualTo(1);
+        assertThat(requetes(() -> clientService.getClientComptes(clientId))).isEqualTo(1);
+    }
+
+    @Test
+    void accountListsReportTheEntityInterestRate() {
+        // Taux jamais renseigné en base : le défaut de l'épargne s'applique
+        jdbcTemplate.update("UPDATE comptes SET taux_interet = NULL WHERE numero_compte = ?", compteEpargne);
+
+        assertThat(compteService.getComptesByClient(clientId))
+                .extracting(CompteDTO::getNumeroCompte, compte -> compte.getTauxInteret().stripTrailingZeros())
+                .containsExactlyInAnyOrder(
+                        tuple(compteCourant, BigDecimal.ZERO),
+                        tuple(compteEpargne, new BigDecimal("2.5")));
+        assertThat(clientService.getClientComptes(clientId))
+                .extracting(compte -> compte.getTauxInteret().stripTrailingZeros())
+                .containsExactlyInAnyOrder(BigDecimal.ZERO, new BigDecimal("2.5"));
+    }
+
+    @Test
+    void clientListsUseOneStatement() {
+        assertThat(requetes(() -> clientService.getAllClients(null, 0, 50))).isEqualTo(1);
+        assertThat(requetes(() -> clientService.getAllClients(true, 0, 50))).isEqualTo(1);
+    }
+
+    @Test
+    void transactionListsUseOneStatement() {
+        assertThat(requetes(() -> transactionService.getTransactionsByCompte(compteCourant, null, 10))).isEqualTo(1);
+        assertThat(requetes(() -> transactionService.getTransactionsByCompte(compteCourant, null, 100))).isEqualTo(1);
+        LocalDateTime maintenant = LocalDateTime.now();
+        assertThat(requetes(() -> transactionService.getTransactionsByPeriod(compteCourant,
+                maintenant.minusHours(1), maintenant.plusHours(1)))).isEqualTo(1);
+        assertThat(requetes(() -> transactionService.getTotauxByPeriod(compteCourant,
+                maintenant.minusHours(1), maintenant.plusHours(1)))).isEqualTo(1);
+    }
+
+    private long requetes(Runnable appel) {
+        statistics.clear();
+        appel.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ega.bank_system.benchmark;
+
+import org.assertj.core.api.AbstractStringAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie par EXPLAIN que les chemins d'accès de TransactionRepository passent par leurs index,
+ * sur le schéma tel que l'application le construit au démarrage (entités et TransactionIndexInitializer).
+ * Nécessite une base PostgreSQL locale : lancer avec -Dbench.explain=true et la datasource voulue.
+ * Les parcours séquentiels sont désactivés pour que le plan reflète l'index choisi même sur une petite base.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.explain", matches = "true")
+class TransactionIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void analyser() {
+        jdbcTemplate.execute("ANALYZE transactions");
+        jdbcTemplate.execute("ANALYZE comptes");
+    }
+
+    @Test
+    void historyUsesCompteDateIndex() {
+        assertThatPlan("SELECT * FROM transactions WHERE compte_id = 'X' " +
+                "AND (date_operation, id) < (now()::timestamp, 1000) ORDER BY date_operation DESC, id DESC LIMIT 51")
+                .contains("idx_transactions_compte_date_id")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void clientTransactionsUseClientAndCompteIndexes() {
+        assertThatPlan("SELECT t.* FROM transactions t WHERE t.compte_id IN " +
+                "(SELECT c.numero_compte FROM comptes c WHERE c.client_id = 1) ORDER BY t.date_operation DESC, t.id DESC")
+                .contains("idx_comptes_client")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void incomingTransfersUseDestinationIndex() {
+        assertThatPlan("SELECT * FROM transactions WHERE compte_destination_id = 'X'")
+                .contains("idx_transactions_compte_destination");
+    }
+
+    @Test
+    void pendingTransactionsUsePartialIndex() {
+        assertThatPlan("SELECT count(*) FROM transactions WHERE statut = 'EN_ATTENTE'")
+                .contains("idx_transactions_en_attente");
+    }
+
+    @Test
+    void statementTotalsAreIndexOnly() {
+        assertThatPlan("SELECT type, count(*), sum(montant) FROM transactions WHERE compte_id = 'X' " +
+                "AND date_operation BETWEEN now()::timestamp - interval '30 days' AND now()::timestamp " +
+                "AND statut = 'VALIDEE' GROUP BY type")
+                .contains("Index Only Scan using idx_transactions_releve");
+    }
+
+    // Le plan complet figure dans le message d'échec
+    private AbstractStringAssert<?> assertThatPlan(String sql) {
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lignes = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            return String.join("\n", lignes);
+        });
+        return assertThat(plan).as("Plan de %s :%n%s", sql, plan);
+    }
+}
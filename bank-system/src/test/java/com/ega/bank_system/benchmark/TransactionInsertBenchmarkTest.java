@@ -0,0 +1,102 @@
+package com.ega.bank_system.benchmark;
+
+import com.ega.bank_system.entity.Client;
+import com.ega.bank_system.entity.Compte;
+import com.ega.bank_system.entity.CompteCourant;
+import com.ega.bank_system.entity.Transaction;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeCompte;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.repository.ClientRepository;
+import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.TransactionRepository;
+import com.ega.bank_system.util.IbanGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insertion de 100 000 transactions pour mesurer l'effet des séquences "pooled" et du batch JDBC.
+ * Nécessite une base PostgreSQL de test (les lignes ne sont pas supprimées) :
+ * lancer avec -Dbench.insert=true et la datasource voulue.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "bench.insert", matches = "true")
+class TransactionInsertBenchmarkTest {
+
+    private static final int NOMBRE = 100_000;
+    private static final int LOT = 1_000;
+
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private CompteRepository compteRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private IbanGenerator ibanGenerator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insert100kTransactions() {
+        long suffixe = System.nanoTime() % 100_000_000L;
+        Compte compte = transactionTemplate.execute(status -> {
+            Client client = clientRepository.save(Client.builder()
+                    .nom("Bench").prenom("Insert")
+                    .dateNaissance(LocalDate.of(1990, 1, 1))
+                    .sexe("M").adresse("Banc d'essai").nationalite("Test")
+                    .telephone("9" + suffixe)
+                    .email("bench" + suffixe + "@ega-bank.tn")
+                    .build());
+            return compteRepository.save(CompteCourant.builder()
+                    .numeroCompte(ibanGenerator.generateIban())
+                    .type(TypeCompte.COURANT)
+                    .dateCreation(LocalDate.now())
+                    .client(client)
+                    .build());
+        });
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long debut = System.nanoTime();
+        for (int i = 0; i < NOMBRE; i += LOT) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Transaction> lot = new ArrayList<>(LOT);
+                for (int j = 0; j < LOT; j++) {
+                    lot.add(Transaction.builder()
+                            .type(TypeTransaction.DEPOT)
+                            .statut(StatutTransaction.VALIDEE)
+                            .montant(BigDecimal.ONE)
+                            .libelle("Dépôt")
+                            .compte(compte)
+                            .build());
+                }
+                transactionRepository.saveAll(lot);
+            });
+        }
+        long dureeMs = (System.nanoTime() - debut) / 1_000_000;
+
+        String mesure = String.format("%d transactions insérées en %d ms (%.0f/s), %d requêtes préparées",
+                NOMBRE, dureeMs, NOMBRE * 1000.0 / Math.max(1, dureeMs), statistics.getPrepareStatementCount());
+
+        // Avec batch_size=50 et des ids pooled, on attend de l'ordre de 2 000 batchs d'INSERT + 2 000 appels de séquence
+        assertThat(statistics.getEntityInsertCount()).as(mesure).isEqualTo(NOMBRE);
+        assertThat(statistics.getPrepareStatementCount()).as(mesure).isLessThan(NOMBRE / 10);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ega.bank_system.entity;
+
+import com.ega.bank_system.security.TokenWatermarkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalListenerTest {
+
+    private final TokenWatermarkService tokenWatermarkService = mock(TokenWatermarkService.class);
+    private final UserPrincipalListener listener;
+
+    @SuppressWarnings("unchecked")
+    UserPrincipalListenerTest() {
+        ObjectProvider<TokenWatermarkService> watermarks = mock(ObjectProvider.class);
+        when(watermarks.getObject()).thenReturn(tokenWatermarkService);
+        listener = new UserPrincipalListener(mock(ObjectProvider.class), watermarks);
+    }
+
+    @Test
+    void revokesOnlyOnTheActiveToInactiveTransition() {
+        User user = User.builder().username("agent").build();
+        user.memoriserEtatActif();
+
+        user.setAccountNonLocked(false);
+        listener.revoquerSiDesactive(user);
+        user.memoriserEtatActif();
+
+        // Écritures suivantes sur un compte déjà verrouillé (ou désactivé en plus)
+        user.setEnabled(false);
+        listener.revoquerSiDesactive(user);
+        user.memoriserEtatActif();
+        listener.revoquerSiDesactive(user);
+
+        verify(tokenWatermarkService, times(1)).revokeAll(user);
+    }
+
+    @Test
+    void updatesOfAnActiveUserDoNotRevoke() {
+        User user = User.builder().username("agent").build();
+        user.memoriserEtatActif();
+
+        user.setPassword("nouveau");
+        listener.revoquerSiDesactive(user);
+
+        verify(tokenWatermarkService, never()).revokeAll(user);
+    }
+}
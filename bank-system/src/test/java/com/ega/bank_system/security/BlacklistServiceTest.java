@@ -0,0 +1,53 @@
+package com.ega.bank_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlacklistServiceTest {
+
+    @Test
+    void revokedJtisAreFoundAcrossTableGrowth() {
+        BlacklistService blacklist = new BlacklistService(new InMemoryRevocationStore(), 1_000);
+        long expiration = System.currentTimeMillis() + 3_600_000;
+        String[] jtis = new String[50_000];
+        for (int i = 0; i < jtis.length; i++) {
+            jtis[i] = UUID.randomUUID().toString();
+            blacklist.revoke(jtis[i], expiration);
+        }
+
+        for (String jti : jtis) {
+            assertThat(blacklist.isRevoked(jti)).isTrue();
+        }
+        assertThat(blacklist.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(blacklist.size()).isEqualTo(jtis.length);
+    }
+
+    @Test
+    void purgeOnlyDropsExpiredBuckets() {
+        // Milieu d'une tranche de 10 s
+        AtomicLong maintenant = new AtomicLong(1_700_000_005_000L);
+        BlacklistService blacklist = new BlacklistService(new InMemoryRevocationStore(), 1_000, maintenant::get);
+        blacklist.revoke("longue", maintenant.get() + 3_600_000);
+        // Expiration dans la tranche courante : échue dès la fin de cette tranche
+        blacklist.revoke("courte", maintenant.get() + 1);
+        blacklist.revoke("deja-expiree", maintenant.get());
+
+        assertThat(blacklist.isRevoked("deja-expiree")).isFalse();
+        assertThat(blacklist.size()).isEqualTo(2);
+
+        maintenant.addAndGet(1_000);
+        blacklist.purgeExpired();
+        assertThat(blacklist.isRevoked("courte")).isTrue();
+
+        maintenant.set(1_700_000_010_000L);
+        blacklist.purgeExpired();
+
+        assertThat(blacklist.isRevoked("courte")).isFalse();
+        assertThat(blacklist.isRevoked("longue")).isTrue();
+        assertThat(blacklist.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.exception.ServiceSatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void rejectsWhenWorkersAndQueueAreFull() throws Exception {
+        CountDownLatch liberation = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new EncodeurBloquant(liberation), 1, 1, 10_000, 3);
+        try {
+            List<CompletableFuture<String>> enCours = new ArrayList<>();
+            // Un hachage en cours, un en file
+            enCours.add(CompletableFuture.supplyAsync(() -> encoder.encode("a")));
+            while (encoder.metriques().get("actifs").equals(0)) {
+                Thread.sleep(1);
+            }
+            enCours.add(CompletableFuture.supplyAsync(() -> encoder.encode("b")));
+            while (encoder.metriques().get("fileAttente").equals(0)) {
+                Thread.sleep(1);
+            }
+
+            assertThatThrownBy(() -> encoder.encode("c"))
+                    .isInstanceOf(ServiceSatureException.class)
+                    .extracting(e -> ((ServiceSatureException) e).getRetryAfterSecondes())
+                    .isEqualTo(3L);
+
+            liberation.countDown();
+            assertThat(enCours.get(0).get()).isEqualTo("{hash}a");
+            assertThat(enCours.get(1).get()).isEqualTo("{hash}b");
+            assertThat(encoder.metriques()).containsEntry("operations", 2L).containsEntry("rejets", 1L);
+        } finally {
+            encoder.arreter();
+        }
+    }
+
+    private record EncodeurBloquant(CountDownLatch liberation) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                liberation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{hash}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ega.bank_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimiterTest {
+
+    @Test
+    void allowsBurstThenRejectsWithRetryDelay() {
+        InMemoryRateLimiter limiter = new InMemoryRateLimiter();
+        RateLimiter.Limite limite = new RateLimiter.Limite(60, 5);
+
+        for (int i = 0; i < 5; i++) {
+            RateLimiter.Decision decision = limiter.acquerir("u:agent1:RECHERCHE", limite);
+            assertThat(decision.autorisee()).isTrue();
+            assertThat(decision.restants()).isEqualTo(4 - i);
+        }
+
+        RateLimiter.Decision refus = limiter.acquerir("u:agent1:RECHERCHE", limite);
+        assertThat(refus.autorisee()).isFalse();
+        // Un jeton par seconde à 60/min
+        assertThat(refus.attenteNanos()).isBetween(1L, 1_000_000_000L);
+    }
+
+    @Test
+    void keysAreIndependent() {
+        InMemoryRateLimiter limiter = new InMemoryRateLimiter();
+        RateLimiter.Limite limite = new RateLimiter.Limite(60, 1);
+
+        assertThat(limiter.acquerir("u:agent1:RECHERCHE", limite).autorisee()).isTrue();
+        assertThat(limiter.acquerir("u:agent1:RECHERCHE", limite).autorisee()).isFalse();
+        assertThat(limiter.acquerir("u:agent1:HISTORIQUE", limite).autorisee()).isTrue();
+        assertThat(limiter.acquerir("u:agent2:RECHERCHE", limite).autorisee()).isTrue();
+    }
+}
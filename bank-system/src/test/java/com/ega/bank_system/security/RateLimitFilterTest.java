@@ -0,0 +1,159 @@
+package com.ega.bank_system.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final List<String> cles = new ArrayList<>();
+    private final List<RateLimiter.Limite> limites = new ArrayList<>();
+    private RateLimiter.Decision decision = new RateLimiter.Decision(true, 7, 0);
+
+    private final RateLimiter rateLimiter = (cle, limite) -> {
+        cles.add(cle);
+        limites.add(limite);
+        return decision;
+    };
+
+    @AfterEach
+    void viderContexte() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesAreClassifiedIntoGroups() throws Exception {
+        RateLimitFilter filtre = new RateLimitFilter(rateLimiter, new MockEnvironment());
+        connecter("agent1", "ROLE_AGENT");
+
+        executer(filtre, "POST", "/api/v1/auth/login");
+        executer(filtre, "GET", "/api/v1/clients/search");
+        executer(filtre, "GET", "/api/v1/comptes/type/EPARGNE");
+        executer(filtre, "GET", "/api/v1/transactions");
+        executer(filtre, "GET", "/api/v1/transactions/totaux");
+        executer(filtre, "GET", "/api/v1/comptes/TN59EGA1/transactions");
+        executer(filtre, "POST", "/api/v1/comptes/TN59EGA1/depot");
+        executer(filtre, "POST", "/api/v1/comptes/virement");
+        executer(filtre, "POST", "/api/v1/clients");
+
+        assertThat(cles).containsExactly(
+                "u:agent1:AUTHENTIFICATION",
+                "u:agent1:RECHERCHE",
+                "u:agent1:RECHERCHE",
+                "u:agent1:HISTORIQUE",
+                "u:agent1:HISTORIQUE",
+                "u:agent1:HISTORIQUE",
+                "u:agent1:OPERATIONS",
+                "u:agent1:OPERATIONS",
+                "u:agent1:DEFAUT");
+    }
+
+    @Test
+    void limitFollowsTheRoleAndAnonymousCallsAreKeyedByAddress() throws Exception {
+        RateLimitFilter filtre = new RateLimitFilter(rateLimiter, new MockEnvironment());
+
+        connecter("agent1", "ROLE_AGENT");
+        executer(filtre, "GET", "/api/v1/clients/search");
+        connecter("admin1", "ROLE_ADMIN");
+        executer(filtre, "GET", "/api/v1/clients/search");
+        connecter("autre", "ROLE_INCONNU");
+        executer(filtre, "GET", "/api/v1/clients/search");
+        SecurityContextHolder.clearContext();
+        executer(filtre, "POST", "/api/v1/auth/login");
+
+        assertThat(cles).containsExactly("u:agent1:RECHERCHE", "u:admin1:RECHERCHE", "u:autre:RECHERCHE",
+                "ip:10.0.0.7:AUTHENTIFICATION");
+        assertThat(limites).containsExactly(
+                new RateLimiter.Limite(60, 10),
+                new RateLimiter.Limite(120, 20),
+                new RateLimiter.Limite(60, 10),
+                new RateLimiter.Limite(60, 30));
+    }
+
+    @Test
+    void rejectionCarriesRetryAfterAndQuotaHeaders() throws Exception {
+        RateLimitFilter filtre = new RateLimitFilter(rateLimiter, new MockEnvironment());
+        connecter("agent1", "ROLE_AGENT");
+
+        MockHttpServletResponse autorisee = executer(filtre, "GET", "/api/v1/transactions");
+        assertThat(autorisee.getStatus()).isEqualTo(200);
+        assertThat(autorisee.getHeader("X-RateLimit-Limit")).isEqualTo("120");
+        assertThat(autorisee.getHeader("X-RateLimit-Remaining")).isEqualTo("7");
+
+        decision = new RateLimiter.Decision(false, 0, 1_500_000_000L);
+        MockFilterChain chaine = new MockFilterChain();
+        MockHttpServletResponse refusee = executer(filtre, "GET", "/api/v1/transactions", chaine);
+
+        assertThat(refusee.getStatus()).isEqualTo(429);
+        assertThat(refusee.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(refusee.getHeader("X-RateLimit-Limit")).isEqualTo("120");
+        assertThat(refusee.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(chaine.getRequest()).isNull();
+    }
+
+    @Test
+    void configuredRateOverridesDefaultsAndDerivesTheBurst() throws Exception {
+        MockEnvironment environnement = new MockEnvironment()
+                .withProperty("app.rate-limit.recherche.agent.per-minute", "30")
+                .withProperty("app.rate-limit.historique.agent.per-minute", "90")
+                .withProperty("app.rate-limit.historique.agent.burst", "3")
+                .withProperty("app.rate-limit.authentification.anonyme.per-minute", "12");
+        RateLimitFilter filtre = new RateLimitFilter(rateLimiter, environnement);
+
+        connecter("agent1", "ROLE_AGENT");
+        executer(filtre, "GET", "/api/v1/clients/search");
+        executer(filtre, "GET", "/api/v1/transactions");
+        SecurityContextHolder.clearContext();
+        executer(filtre, "POST", "/api/v1/auth/refresh");
+
+        assertThat(limites).containsExactly(
+                new RateLimiter.Limite(30, 5),
+                new RateLimiter.Limite(90, 3),
+                new RateLimiter.Limite(12, 2));
+    }
+
+    @Test
+    void disabledFilterAndNonApiPathsAreNotLimited() throws Exception {
+        RateLimitFilter desactive = new RateLimitFilter(rateLimiter,
+                new MockEnvironment().withProperty("app.rate-limit.enabled", "false"));
+        MockFilterChain chaine = new MockFilterChain();
+        executer(desactive, "GET", "/api/v1/transactions", chaine);
+        assertThat(chaine.getRequest()).isNotNull();
+
+        RateLimitFilter actif = new RateLimitFilter(rateLimiter, new MockEnvironment());
+        executer(actif, "GET", "/swagger-ui/index.html");
+
+        assertThat(cles).isEmpty();
+    }
+
+    private static void connecter(String username, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, List.of(new SimpleGrantedAuthority(authority))));
+    }
+
+    private static MockHttpServletResponse executer(RateLimitFilter filtre, String methode, String chemin)
+            throws Exception {
+        return executer(filtre, methode, chemin, new MockFilterChain());
+    }
+
+    private static MockHttpServletResponse executer(RateLimitFilter filtre, String methode, String chemin,
+                                                    MockFilterChain chaine) throws Exception {
+        MockHttpServletRequest requete = new MockHttpServletRequest(methode, chemin);
+        requete.setServletPath(chemin);
+        requete.setRemoteAddr("10.0.0.7");
+        MockHttpServletResponse reponse = new MockHttpServletResponse();
+        filtre.doFilter(requete, reponse, chaine);
+        return reponse;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ega.bank_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenStoreTest {
+
+    @Test
+    void refreshTokenIsSingleUseAndReplayIsReported() {
+        RefreshTokenStore store = new RefreshTokenStore(1_000);
+        store.enregistrer("jti-1", "agent1", "AGENT", System.currentTimeMillis() + 60_000);
+
+        RefreshTokenStore.Consommation premiere = store.consommer("jti-1");
+        assertThat(premiere.statut()).isEqualTo(RefreshTokenStore.Statut.VALIDE);
+        assertThat(premiere.username()).isEqualTo("agent1");
+        assertThat(premiere.role()).isEqualTo("AGENT");
+
+        RefreshTokenStore.Consommation rejeu = store.consommer("jti-1");
+        assertThat(rejeu.statut()).isEqualTo(RefreshTokenStore.Statut.REUTILISE);
+        assertThat(rejeu.username()).isEqualTo("agent1");
+    }
+
+    @Test
+    void unknownOrExpiredJtiFallsBackToLookup() {
+        RefreshTokenStore store = new RefreshTokenStore(1_000);
+        store.enregistrer("jti-expire", "agent1", "AGENT", System.currentTimeMillis() - 1);
+
+        assertThat(store.consommer("jti-expire").statut()).isEqualTo(RefreshTokenStore.Statut.INCONNU);
+        assertThat(store.consommer("jti-autre-noeud").statut()).isEqualTo(RefreshTokenStore.Statut.INCONNU);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.dto.AuthResponse;
+import com.ega.bank_system.entity.User;
+import com.ega.bank_system.enums.Role;
+import com.ega.bank_system.repository.UserRepository;
+import com.ega.bank_system.service.AuthService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deux instances simulées partageant le même stockage de révocations.
+ */
+class RevocationSynchronizerTest {
+
+    private final InMemoryRevocationStore store = new InMemoryRevocationStore();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtService jwtService = new JwtService();
+    private final User agent = User.builder().username("agent1").password("x").role(Role.AGENT).build();
+
+    RevocationSynchronizerTest() {
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "tailleMaxCache", 100);
+        ReflectionTestUtils.invokeMethod(jwtService, "initialiser");
+        when(userRepository.findByUsername("agent1")).thenReturn(Optional.of(agent));
+    }
+
+    @Test
+    void tokenRevokedOnOneNodeIsRevokedOnTheOtherAfterPolling() {
+        Noeud a = new Noeud();
+        Noeud b = new Noeud();
+
+        a.blacklist.revoke("jti-1", System.currentTimeMillis() + 60_000);
+
+        assertThat(a.blacklist.isRevoked("jti-1")).isTrue();
+        assertThat(b.blacklist.isRevoked("jti-1")).isFalse();
+
+        b.synchronizer.synchroniser();
+
+        assertThat(b.blacklist.isRevoked("jti-1")).isTrue();
+        assertThat(b.blacklist.isRevoked("jti-2")).isFalse();
+    }
+
+    @Test
+    void userWatermarkIsPropagatedAndLoadedByNewNodes() {
+        Noeud a = new Noeud();
+        Noeud b = new Noeud();
+        User user = User.builder().username("agent1").role(Role.AGENT).build();
+        Date emisAvant = Date.from(Instant.now().minusSeconds(5));
+
+        a.watermarks.revokeAll(user);
+        b.synchronizer.synchroniser();
+
+        assertThat(a.watermarks.isRevoked("agent1", emisAvant)).isTrue();
+        assertThat(b.watermarks.isRevoked("agent1", emisAvant)).isTrue();
+        assertThat(new Noeud().watermarks.isRevoked("agent1", emisAvant)).isTrue();
+        assertThat(b.watermarks.isRevoked("agent2", emisAvant)).isFalse();
+    }
+
+    @Test
+    void refreshTokenConsumedOnOneNodeIsRejectedOnTheOtherAsReplay() throws Exception {
+        Noeud a = new Noeud();
+        Noeud b = new Noeud();
+        // Refresh token émis par l'instance A
+        String refresh = jwtService.generateRefreshToken(agent, "jti-refresh");
+        a.refreshTokens.enregistrer("jti-refresh", "agent1", "AGENT", System.currentTimeMillis() + 60_000);
+
+        AuthResponse rotation = a.auth.refreshToken(refresh);
+        b.synchronizer.synchroniser();
+        // La révocation globale doit tomber strictement après l'émission à la milliseconde
+        Thread.sleep(2);
+
+        assertThatThrownBy(() -> b.auth.refreshToken(refresh))
+                .hasMessageContaining("déjà utilisé");
+        // Rejeu détecté sur B : le token obtenu par la rotation sur A tombe aussi
+        Claims nouveau = jwtService.validateToken(rotation.getRefreshToken());
+        assertThat(b.watermarks.isRevoked(nouveau)).isTrue();
+    }
+
+    @Test
+    void expiredRevocationsArePurgedFromTheStore() {
+        Noeud a = new Noeud();
+        a.blacklist.revoke("jti-court", System.currentTimeMillis() + 60_000);
+
+        assertThat(store.purger(Instant.now().plusSeconds(120))).isEqualTo(1);
+        assertThat(new Noeud().blacklist.isRevoked("jti-court")).isFalse();
+    }
+
+    private final class Noeud {
+        private final BlacklistService blacklist = new BlacklistService(store, 1_000);
+        private final TokenWatermarkService watermarks =
+                new TokenWatermarkService(userRepository, store, 604_800_000L);
+        private final RevocationSynchronizer synchronizer =
+                new RevocationSynchronizer(store, blacklist, watermarks, 30_000);
+        private final RefreshTokenStore refreshTokens = new RefreshTokenStore(1_000);
+        private final AuthService auth = new AuthService(userRepository, mock(PasswordEncoder.class), jwtService,
+                mock(AuthenticationManager.class), mock(UserPrincipalCache.class), watermarks, blacklist, refreshTokens);
+
+        private Noeud() {
+            synchronizer.charger();
+        }
+    }
+}
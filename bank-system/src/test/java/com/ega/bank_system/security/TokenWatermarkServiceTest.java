@@ -0,0 +1,57 @@
+package com.ega.bank_system.security;
+
+import com.ega.bank_system.entity.User;
+import com.ega.bank_system.enums.Role;
+import com.ega.bank_system.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Révocation globale comparée à la date d'émission à la milliseconde.
+ */
+class TokenWatermarkServiceTest {
+
+    private final TokenWatermarkService watermarks =
+            new TokenWatermarkService(mock(UserRepository.class), new InMemoryRevocationStore(), 604_800_000L);
+    private final JwtService jwtService = new JwtService();
+    private final User user = User.builder().username("agent1").password("x").role(Role.AGENT).build();
+
+    TokenWatermarkServiceTest() {
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "tailleMaxCache", 100);
+        ReflectionTestUtils.invokeMethod(jwtService, "initialiser");
+    }
+
+    @Test
+    void tokenIssuedRightAfterRevocationInTheSameSecondIsAccepted() throws Exception {
+        Claims avant = jwtService.validateToken(jwtService.generateToken(user));
+        Thread.sleep(2);
+
+        watermarks.revokeAll(user);
+        Claims apres = jwtService.validateToken(jwtService.generateToken(user));
+
+        assertThat(watermarks.isRevoked(avant)).isTrue();
+        assertThat(watermarks.isRevoked(apres)).isFalse();
+    }
+
+    @Test
+    void legacyTokenWithoutMillisecondClaimIsRevokedWithinTheSameSecond() {
+        long maintenant = System.currentTimeMillis();
+        Claims ancien = new DefaultClaims();
+        ancien.setSubject("agent1");
+        ancien.setIssuedAt(new Date(maintenant / 1000 * 1000));
+
+        watermarks.revokeAll(user);
+
+        assertThat(watermarks.isRevoked(ancien)).isTrue();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.entity.Client;
+import com.ega.bank_system.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientSearchTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final ClientSearch search = new ClientSearch(jdbcTemplate, clientRepository, true);
+
+    @Test
+    void rankedIdsAreReturnedInRankOrder() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        search.preparer();
+        assertThat(search.isTrigramme()).isTrue();
+
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("%dup%"), eq("dup"), eq(10), eq(20L)))
+                .thenReturn(List.of(3L, 1L, 2L));
+        when(clientRepository.findAllById(List.of(3L, 1L, 2L)))
+                .thenReturn(List.of(client(1L), client(2L), client(3L)));
+
+        assertThat(search.rechercher("Dup", PageRequest.of(2, 10)))
+                .extracting(Client::getId)
+                .containsExactly(3L, 1L, 2L);
+        verify(clientRepository, never()).rechercher(anyString(), any());
+        verify(jdbcTemplate, never()).execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + ClientSearch.INDEX
+                + " ON clients USING gin ((" + ClientSearch.EXPRESSION + ") gin_trgm_ops)");
+    }
+
+    @Test
+    void indexIsBuiltOnOneLockedSessionAndFailureFallsBackToLike() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+
+        search.preparer();
+
+        // Ni suppression ni construction sur le pool partagé, hors du verrou de session
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP INDEX"));
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE INDEX"));
+        assertThat(search.isTrigramme()).isFalse();
+
+        search.rechercher("Dup", true, PageRequest.of(0, 10));
+        verify(clientRepository).rechercherParStatut("%dup%", true, PageRequest.of(0, 10));
+    }
+
+    private static Client client(Long id) {
+        return Client.builder().id(id).build();
+    }
+}
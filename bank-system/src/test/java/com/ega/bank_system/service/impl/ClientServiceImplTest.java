@@ -0,0 +1,63 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.repository.ClientRepository;
+import com.ega.bank_system.repository.CompteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Filtre actif et recherche évalués par la base : une requête paginée, aucun chargement complet.
+ */
+class ClientServiceImplTest {
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final ClientServiceImpl service = new ClientServiceImpl(clientRepository,
+            mock(CompteRepository.class),
+            new ClientSearch(mock(JdbcTemplate.class), clientRepository, false), new ObjectMapper());
+
+    ClientServiceImplTest() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 200);
+    }
+
+    @Test
+    void activeFilterIsPushedDownToTheRepository() {
+        service.getAllClients(true, 0, 20);
+
+        verify(clientRepository).findByActive(eq(true), any(Pageable.class));
+        verifyNoMoreInteractions(clientRepository);
+    }
+
+    @Test
+    void searchWithoutTrigramEscapesWildcardsAndRunsOneQuery() {
+        service.searchClients("Du_Pont%", null, 0, 20);
+
+        verify(clientRepository).rechercher(eq("%du!_pont!%%"), any(Pageable.class));
+        verifyNoMoreInteractions(clientRepository);
+    }
+
+    @Test
+    void searchWithActiveFilterStaysInOneQuery() {
+        service.searchClients("Dupont", false, 0, 20);
+
+        verify(clientRepository).rechercherParStatut(eq("%dupont%"), eq(false), any(Pageable.class));
+        verifyNoMoreInteractions(clientRepository);
+    }
+
+    @Test
+    void invalidPageIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> service.getAllClients(null, -1, 20)).isInstanceOf(BusinessException.class);
+        verifyNoInteractions(clientRepository);
+    }
+}
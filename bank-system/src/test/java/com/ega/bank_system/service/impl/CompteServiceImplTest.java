@@ -0,0 +1,106 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.dto.CompteDTO;
+import com.ega.bank_system.dto.CompteLigne;
+import com.ega.bank_system.entity.Client;
+import com.ega.bank_system.entity.Compte;
+import com.ega.bank_system.enums.TypeCompte;
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.repository.ClientRepository;
+import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.CompteShardRepository;
+import com.ega.bank_system.util.IbanGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Les listes de comptes doivent partir en une seule requête filtrée et paginée, jamais en findAll(),
+ * soldes des shards compris (aucun appel au moteur d'imputation par ligne).
+ */
+class CompteServiceImplTest {
+
+    private final CompteRepository compteRepository = mock(CompteRepository.class);
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final IbanGenerator ibanGenerator = mock(IbanGenerator.class);
+    private final PostingEngine postingEngine = mock(PostingEngine.class);
+    private final CompteServiceImpl service = new CompteServiceImpl(compteRepository,
+            clientRepository, ibanGenerator, mock(CompteShardRepository.class), postingEngine,
+            new ObjectMapper());
+
+    CompteServiceImplTest() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 200);
+    }
+
+    @Test
+    void comptesByTypeUseOneIndexedPagedQuery() {
+        CompteLigne compte = new CompteLigne("TG53EGA00001", TypeCompte.COURANT, LocalDate.now(),
+                BigDecimal.TEN, true, 7L, null);
+        when(compteRepository.findByType(eq(TypeCompte.COURANT), any(Pageable.class))).thenReturn(List.of(compte));
+
+        assertThat(service.getComptesByType(TypeCompte.COURANT, 2, 50))
+                .singleElement()
+                .satisfies(dto -> {
+                    assertThat(dto.getClientId()).isEqualTo(7L);
+                    assertThat(dto.getSolde()).isEqualTo(BigDecimal.TEN);
+                });
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(compteRepository).findByType(eq(TypeCompte.COURANT), page.capture());
+        verifyNoMoreInteractions(compteRepository);
+        assertThat(page.getValue().getPageNumber()).isEqualTo(2);
+        assertThat(page.getValue().getPageSize()).isEqualTo(50);
+        verifyNoInteractions(postingEngine);
+    }
+
+    @Test
+    void allComptesArePagedAndCapped() {
+        service.getAllComptes(0, 10_000);
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(compteRepository).findAllBy(page.capture());
+        verifyNoMoreInteractions(compteRepository);
+        assertThat(page.getValue().getPageSize()).isEqualTo(200);
+    }
+
+    @Test
+    void numberAlreadyOpenedOnAnotherNodeIsRedrawn() {
+        when(clientRepository.findById(7L)).thenReturn(Optional.of(Client.builder().id(7L).build()));
+        when(ibanGenerator.generateIban()).thenReturn("TN00EGA1", "TN00EGA2");
+        when(compteRepository.existsByNumeroCompte("TN00EGA1")).thenReturn(true);
+        when(compteRepository.save(any(Compte.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompteDTO compte = service.createCompte(CompteDTO.builder().clientId(7L).type(TypeCompte.COURANT).build());
+
+        assertThat(compte.getNumeroCompte()).isEqualTo("TN00EGA2");
+    }
+
+    @Test
+    void persistentCollisionsEndInABusinessError() {
+        when(clientRepository.findById(7L)).thenReturn(Optional.of(Client.builder().id(7L).build()));
+        when(ibanGenerator.generateIban()).thenReturn("TN00EGA1");
+        when(compteRepository.existsByNumeroCompte("TN00EGA1")).thenReturn(true);
+
+        assertThatThrownBy(() -> service.createCompte(CompteDTO.builder().clientId(7L).type(TypeCompte.COURANT).build()))
+                .isInstanceOf(BusinessException.class);
+        verify(compteRepository, never()).save(any());
+    }
+}
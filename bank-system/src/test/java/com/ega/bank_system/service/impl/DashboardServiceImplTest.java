@@ -0,0 +1,102 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.dto.ComptesParTypeDTO;
+import com.ega.bank_system.dto.DashboardDTO;
+import com.ega.bank_system.dto.NombreParMoisDTO;
+import com.ega.bank_system.dto.VolumeJourDTO;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeCompte;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.repository.ClientRepository;
+import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.TransactionRepository;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tableau de bord : totaux déduits des agrégats, et agrégats gardés quelques secondes par période.
+ */
+class DashboardServiceImplTest {
+
+    private static final LocalDate DEBUT = LocalDate.of(2026, 3, 1);
+    private static final LocalDate FIN = LocalDate.of(2026, 3, 31);
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final CompteRepository compteRepository = mock(CompteRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final DashboardServiceImpl service =
+            new DashboardServiceImpl(clientRepository, compteRepository, transactionRepository);
+
+    DashboardServiceImplTest() {
+        ReflectionTestUtils.setField(service, "ttlMs", 60_000L);
+    }
+
+    @Test
+    void totalsAreDerivedFromTheAggregates() {
+        YearMonth courant = YearMonth.now();
+        when(compteRepository.totauxParType()).thenReturn(List.of(
+                new ComptesParTypeDTO(TypeCompte.COURANT, 3L, new BigDecimal("300.00")),
+                new ComptesParTypeDTO(TypeCompte.EPARGNE, 2L, new BigDecimal("50.50"))));
+        when(compteRepository.nombreParMois(any())).thenReturn(List.of(
+                new NombreParMoisDTO(courant.minusMonths(1).getYear(), courant.minusMonths(1).getMonthValue(), 4L),
+                new NombreParMoisDTO(courant.getYear(), courant.getMonthValue(), 1L)));
+        when(transactionRepository.volumesParJour(DEBUT.atStartOfDay(), FIN.plusDays(1).atStartOfDay(),
+                StatutTransaction.VALIDEE)).thenReturn(List.of(
+                new VolumeJourDTO(DEBUT, TypeTransaction.DEPOT, 2L, new BigDecimal("100")),
+                new VolumeJourDTO(DEBUT, TypeTransaction.RETRAIT, 1L, new BigDecimal("20")),
+                new VolumeJourDTO(DEBUT.plusDays(1), TypeTransaction.DEPOT, 1L, new BigDecimal("5"))));
+        when(clientRepository.count()).thenReturn(7L);
+
+        DashboardDTO dashboard = service.getDashboard(DEBUT, FIN);
+
+        assertThat(dashboard.getTotalClients()).isEqualTo(7L);
+        assertThat(dashboard.getTotalComptes()).isEqualTo(5L);
+        assertThat(dashboard.getNouveauxComptes()).isEqualTo(1L);
+        assertThat(dashboard.getNouveauxClients()).isZero();
+        assertThat(dashboard.getSoldeTotal()).isEqualByComparingTo("350.50");
+        assertThat(dashboard.getNombreTransactions()).isEqualTo(4L);
+        assertThat(dashboard.getVolumeTransactions()).isEqualByComparingTo("125");
+        assertThat(dashboard.getTransactionsParType())
+                .extracting("type", "nombre")
+                .containsExactly(
+                        Tuple.tuple(TypeTransaction.DEPOT, 3L),
+                        Tuple.tuple(TypeTransaction.RETRAIT, 1L));
+    }
+
+    @Test
+    void samePeriodIsServedFromCacheUntilExpiry() {
+        service.getDashboard(DEBUT, FIN);
+        service.getDashboard(DEBUT, FIN);
+        service.getDashboard(DEBUT, FIN.minusDays(1));
+
+        verify(compteRepository, times(2)).totauxParType();
+        verify(transactionRepository, times(2)).volumesParJour(any(), any(), any());
+
+        ReflectionTestUtils.setField(service, "ttlMs", 0L);
+        service.getDashboard(DEBUT, FIN.minusDays(2));
+        service.getDashboard(DEBUT, FIN.minusDays(2));
+        verify(compteRepository, times(4)).totauxParType();
+    }
+
+    @Test
+    void invertedPeriodIsRejected() {
+        assertThatThrownBy(() -> service.getDashboard(FIN, DEBUT)).isInstanceOf(BusinessException.class);
+        verifyNoInteractions(compteRepository, transactionRepository);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ega.bank_system.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanValidationServiceImplTest {
+
+    @Test
+    void streamingServiceKeepsLineOrderAcrossChunks() throws Exception {
+        IbanValidationServiceImpl service = new IbanValidationServiceImpl(1024, 4);
+        StringBuilder entree = new StringBuilder();
+        StringBuilder attendu = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            String iban = i % 3 == 0 ? "FR1520041010050500013M02606" : "FR1420041010050500013M02606";
+            entree.append(iban).append(i % 2 == 0 ? "\r\n" : "\n");
+            attendu.append(iban).append(i % 3 == 0 ? ";INVALIDE\n" : ";VALIDE\n");
+        }
+
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        service.validerFlux(new ByteArrayInputStream(entree.toString().getBytes(StandardCharsets.US_ASCII)), sortie);
+
+        assertThat(sortie.toString(StandardCharsets.US_ASCII)).isEqualTo(attendu.toString());
+    }
+}
@@ -0,0 +1,135 @@
+package com.ega.bank_system.service.impl;
+
+import com.ega.bank_system.dto.FiltreTransactions;
+import com.ega.bank_system.dto.HistoriqueTransactionsDTO;
+import com.ega.bank_system.dto.TransactionLigne;
+import com.ega.bank_system.enums.StatutTransaction;
+import com.ega.bank_system.enums.TypeTransaction;
+import com.ega.bank_system.exception.BusinessException;
+import com.ega.bank_system.exception.ResourceNotFoundException;
+import com.ega.bank_system.repository.CompteRepository;
+import com.ega.bank_system.repository.TransactionRepository;
+import com.ega.bank_system.util.CurseurHistorique;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Historique par curseur : une ligne de plus que la page, reprise après (date_operation, id).
+ */
+class TransactionServiceImplTest {
+
+    private static final String COMPTE = "TG53EGA00001";
+    private static final LocalDateTime MAINTENANT = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 123_456_000);
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final CompteRepository compteRepository = mock(CompteRepository.class);
+    private final TransactionServiceImpl service = new TransactionServiceImpl(transactionRepository, compteRepository,
+            mock(PostingEngine.class), mock(VirementExecutor.class), mock(PostingSerializer.class),
+            mock(PostingBatcher.class), mock(TransactionTemplate.class), new ObjectMapper().findAndRegisterModules());
+
+    TransactionServiceImplTest() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 200);
+    }
+
+    @Test
+    void firstPageReturnsCursorOfItsLastRow() {
+        when(transactionRepository.findHistorique(COMPTE, Limit.of(3))).thenReturn(lignes(10, 9, 8));
+
+        HistoriqueTransactionsDTO page = service.getTransactionsByCompte(COMPTE, null, 2);
+
+        assertThat(page.getTransactions()).extracting("id").containsExactly(10L, 9L);
+        assertThat(CurseurHistorique.decoder(page.getCurseurSuivant()))
+                .isEqualTo(new CurseurHistorique(MAINTENANT.plusSeconds(9), 9L));
+        verify(compteRepository, never()).existsByNumeroCompte(anyString());
+    }
+
+    @Test
+    void nextPageSeeksAfterTheCursorAndEndsWithoutCursor() {
+        String curseur = new CurseurHistorique(MAINTENANT.plusSeconds(9), 9L).encoder();
+        when(transactionRepository.findHistoriqueApres(COMPTE, MAINTENANT.plusSeconds(9), 9L, Limit.of(3)))
+                .thenReturn(lignes(8));
+
+        HistoriqueTransactionsDTO page = service.getTransactionsByCompte(COMPTE, curseur, 2);
+
+        assertThat(page.getTransactions()).extracting("id").containsExactly(8L);
+        assertThat(page.getCurseurSuivant()).isNull();
+        verify(transactionRepository, never()).findHistorique(anyString(), any());
+    }
+
+    @Test
+    void emptyPageOfUnknownAccountIsNotFound() {
+        when(transactionRepository.findHistorique(COMPTE, Limit.of(51))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.getTransactionsByCompte(COMPTE, null, 50))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void exportWritesJsonArrayAndClosesTheCursor() throws Exception {
+        AtomicBoolean ferme = new AtomicBoolean();
+        when(transactionRepository.streamHistorique(COMPTE))
+                .thenReturn(lignes(2, 1).stream().onClose(() -> ferme.set(true)));
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+
+        service.exporterTransactions(COMPTE, sortie);
+
+        assertThat(new ObjectMapper().readTree(sortie.toByteArray()))
+                .extracting(noeud -> noeud.get("reference").asText())
+                .containsExactly("TRX2", "TRX1");
+        assertThat(ferme).isTrue();
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThatThrownBy(() -> service.getTransactionsByCompte(COMPTE, "pas-un-curseur", 50))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void journalWithoutCriteriaBindsEveryTypeAndStatusOverAnOpenPeriod() {
+        service.getJournal(new FiltreTransactions(null, Set.of(), null, null, " "), null, 50);
+
+        verify(transactionRepository).findJournal(eq(EnumSet.allOf(TypeTransaction.class)),
+                eq(EnumSet.allOf(StatutTransaction.class)), any(), any(), eq("%"), eq(Limit.of(51)));
+    }
+
+    @Test
+    void journalSearchIsEscapedAndPeriodEndsAfterItsLastDay() {
+        service.getTotauxJournal(new FiltreTransactions(Set.of(TypeTransaction.DEPOT), null,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), "50%"));
+
+        verify(transactionRepository).totauxJournal(eq(Set.of(TypeTransaction.DEPOT)),
+                eq(EnumSet.allOf(StatutTransaction.class)), eq(LocalDateTime.of(2026, 3, 1, 0, 0)),
+                eq(LocalDateTime.of(2026, 4, 1, 0, 0)), eq("%50!%%"));
+    }
+
+    private static List<TransactionLigne> lignes(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new TransactionLigne(id, "TRX" + id, TypeTransaction.DEPOT, StatutTransaction.VALIDEE,
+                        BigDecimal.ONE, "TND", MAINTENANT.plusSeconds(id), null, "Dépôt", COMPTE, null))
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ega.bank_system.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FluxJsonTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void writesAValidJsonArray() throws Exception {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+
+        long nombre = FluxJson.ecrireTableau(Stream.of(Map.of("id", 1), Map.of("id", 2)), sortie, mapper);
+
+        assertThat(nombre).isEqualTo(2);
+        assertThat(sortie.toString()).isEqualTo("[{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    void emptyStreamGivesEmptyArray() throws Exception {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+
+        FluxJson.ecrireTableau(Stream.empty(), sortie, mapper);
+
+        assertThat(sortie.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void outputIsPushedWhileReadingWithoutBufferingEverything() throws Exception {
+        // Deux millions d'éléments générés à la demande : seul le tampon du générateur reste en mémoire
+        CompteurOctets sortie = new CompteurOctets();
+        long nombre = FluxJson.ecrireTableau(
+                Stream.iterate(0L, i -> i + 1).limit(2_000_000).map(i -> Map.of("id", i)), sortie, mapper);
+
+        assertThat(nombre).isEqualTo(2_000_000);
+        assertThat(sortie.ecritures).isGreaterThan(100);
+        assertThat(sortie.plusGrandeEcriture).isLessThanOrEqualTo(64 * 1024);
+        assertThat(sortie.ferme).isFalse();
+    }
+
+    private static final class CompteurOctets extends OutputStream {
+        private long ecritures;
+        private int plusGrandeEcriture;
+        private boolean ferme;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ecritures++;
+            plusGrandeEcriture = Math.max(plusGrandeEcriture, len);
+        }
+
+        @Override
+        public void close() {
+            ferme = true;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ega.bank_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanValidatorTest {
+
+    @Test
+    void acceptsValidIbansWithOrWithoutSpaces() {
+        assertThat(IbanValidator.valider("FR1420041010050500013M02606")).isTrue();
+        assertThat(IbanValidator.valider("GB82 WEST 1234 5698 7654 32")).isTrue();
+        assertThat(IbanValidator.valider("de89370400440532013000")).isTrue();
+    }
+
+    @Test
+    void rejectsWrongChecksumOrStructure() {
+        assertThat(IbanValidator.valider("FR1520041010050500013M02606")).isFalse();
+        assertThat(IbanValidator.valider("1R1420041010050500013M02606")).isFalse();
+        assertThat(IbanValidator.valider("GB82WEST")).isFalse();
+        assertThat(IbanValidator.valider("GB82-WEST-1234-5698-7654-32")).isFalse();
+        assertThat(IbanValidator.valider((CharSequence) null)).isFalse();
+    }
+
+    @Test
+    void byteAndCharVariantsAgree() {
+        byte[] ligne = "xxGB82 WEST 1234 5698 7654 32yy".getBytes(StandardCharsets.US_ASCII);
+        assertThat(IbanValidator.valider(ligne, 2, ligne.length - 2)).isTrue();
+        ligne[5] = '3';
+        assertThat(IbanValidator.valider(ligne, 2, ligne.length - 2)).isFalse();
+    }
+
+    @Test
+    void strictVariantOnlyAcceptsTheElectronicForm() {
+        assertThat(IbanValidator.validerStrict("FR1420041010050500013M02606")).isTrue();
+        assertThat(IbanValidator.validerStrict("GB82 WEST 1234 5698 7654 32")).isFalse();
+        assertThat(IbanValidator.validerStrict("de89370400440532013000")).isFalse();
+        assertThat(IbanValidator.validerStrict("FR1520041010050500013M02606")).isFalse();
+        assertThat(IbanValidator.validerStrict(null)).isFalse();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ega.bank_system.util;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexConcurrentTest {
+
+    private static final String NOM = "idx_test";
+    private static final String DEFINITION = "ON clients (created_at)";
+
+    private final JdbcTemplate session = mock(JdbcTemplate.class);
+
+    @Test
+    void interruptedBuildIsDroppedAndRebuiltUnderTheLock() {
+        etat(false);
+        when(session.queryForObject(anyString(), eq(Long.class), eq(NOM))).thenReturn(0L);
+
+        assertThat(IndexConcurrent.assurerSurSession(session, NOM, DEFINITION)).isTrue();
+
+        InOrder ordre = inOrder(session);
+        ordre.verify(session).execute("SELECT pg_advisory_lock(hashtext('" + NOM + "'))");
+        ordre.verify(session).execute("DROP INDEX CONCURRENTLY IF EXISTS " + NOM);
+        ordre.verify(session).execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + NOM + " " + DEFINITION);
+        ordre.verify(session).execute("SELECT pg_advisory_unlock(hashtext('" + NOM + "'))");
+    }
+
+    @Test
+    void buildStillInProgressIsLeftAlone() {
+        etat(false);
+        when(session.queryForObject(anyString(), eq(Long.class), eq(NOM))).thenReturn(1L);
+
+        assertThat(IndexConcurrent.assurerSurSession(session, NOM, DEFINITION)).isFalse();
+
+        verify(session, never()).execute(startsWith("DROP INDEX"));
+        verify(session, never()).execute(startsWith("CREATE INDEX"));
+        verify(session).execute("SELECT pg_advisory_unlock(hashtext('" + NOM + "'))");
+    }
+
+    @Test
+    void validIndexIsKeptAndMissingOneIsBuilt() {
+        etat(true);
+        assertThat(IndexConcurrent.assurerSurSession(session, NOM, DEFINITION)).isFalse();
+        verify(session, never()).execute(startsWith("CREATE INDEX"));
+
+        when(session.queryForList(anyString(), eq(Boolean.class), eq(NOM))).thenReturn(List.of());
+        assertThat(IndexConcurrent.assurerSurSession(session, NOM, DEFINITION)).isTrue();
+        verify(session, never()).execute(startsWith("DROP INDEX"));
+        verify(session).execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + NOM + " " + DEFINITION);
+    }
+
+    private void etat(boolean valide) {
+        when(session.queryForList(anyString(), eq(Boolean.class), eq(NOM))).thenReturn(List.of(valide));
+    }
+}
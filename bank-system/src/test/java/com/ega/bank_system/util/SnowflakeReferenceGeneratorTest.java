@@ -0,0 +1,78 @@
+package com.ega.bank_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeReferenceGeneratorTest {
+
+    @Test
+    void referencesAreUniqueAcrossThreads() throws Exception {
+        SnowflakeReferenceGenerator generator = new SnowflakeReferenceGenerator(1);
+        int threads = 8;
+        int parThread = 50_000;
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        CountDownLatch depart = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    depart.await();
+                    for (int i = 0; i < parThread; i++) {
+                        references.add(generator.next());
+                    }
+                    return null;
+                }));
+            }
+            depart.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(references).hasSize(threads * parThread);
+    }
+
+    @Test
+    void referencesAreTimeSortableAndFitTheColumn() {
+        SnowflakeReferenceGenerator generator = new SnowflakeReferenceGenerator(3);
+        String precedente = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            String reference = generator.next();
+            assertThat(reference).startsWith("TRX").hasSize(22);
+            assertThat(reference).isGreaterThan(precedente);
+            precedente = reference;
+        }
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        SnowflakeReferenceGenerator noeudA = new SnowflakeReferenceGenerator(1);
+        SnowflakeReferenceGenerator noeudB = new SnowflakeReferenceGenerator(2);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(ids.add(noeudA.nextId())).isTrue();
+            assertThat(ids.add(noeudB.nextId())).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThatThrownBy(() -> new SnowflakeReferenceGenerator(1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
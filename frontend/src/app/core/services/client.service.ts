@@ -67,9 +67,15 @@ export class ClientService {
 
   constructor(private http: HttpClient) {}
 
-  // L'API disponible renvoie la liste complète des clients sans pagination
-  getClients(): Observable<Client[]> {
-    return this.http.get<Client[]>(this.API_URL);
+  // L'API renvoie une page de clients (taille plafonnée côté serveur), filtrée sur le statut si précisé
+  getClients(page = 0, size = 100, actif?: boolean): Observable<Client[]> {
+    let params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString());
+    if (actif !== undefined) {
+      params = params.set('actif', String(actif));
+    }
+    return this.http.get<Client[]>(this.API_URL, { params });
   }
 
   getClient(id: number): Observable<Client> {
@@ -114,10 +120,15 @@ export class ClientService {
     return this.http.get<Client>(`${this.API_URL}/${id}/with-comptes`);
   }
 
-  searchClients(query: string): Observable<Client[]> {
-    return this.http.get<Client[]>(`${this.API_URL}/search`, {
-      params: { query }
-    });
+  searchClients(query: string, page = 0, size = 20, actif?: boolean): Observable<Client[]> {
+    let params = new HttpParams()
+      .set('query', query)
+      .set('page', page.toString())
+      .set('size', size.toString());
+    if (actif !== undefined) {
+      params = params.set('actif', String(actif));
+    }
+    return this.http.get<Client[]>(`${this.API_URL}/search`, { params });
   }
 
 }
\ No newline at end of file
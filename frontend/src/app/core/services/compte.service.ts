@@ -1,8 +1,7 @@
 // compte.service.ts
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable, forkJoin, of } from 'rxjs';
-import { map, catchError } from 'rxjs/operators';
+import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
 
 export interface Compte {
@@ -57,15 +56,12 @@ export class CompteService {
 
   constructor(private http: HttpClient) {}
 
-  // Liste de tous les comptes (par type)
-  getAllComptes(page = 0, size = 1000): Observable<Compte[]> {
-    // Récupérer les comptes COURANT et EPARGNE et les combiner
-    return forkJoin({
-      courant: this.getComptesByType('COURANT').pipe(catchError(() => of([]))),
-      epargne: this.getComptesByType('EPARGNE').pipe(catchError(() => of([])))
-    }).pipe(
-      map(({ courant, epargne }) => [...courant, ...epargne])
-    );
+  // Une page de comptes, tous types confondus (taille plafonnée côté serveur)
+  getAllComptes(page = 0, size = 100): Observable<Compte[]> {
+    const params = new HttpParams()
+      .set('page', page.toString())
+      .set('size', size.toString());
+    return this.http.get<Compte[]>(this.API_URL, { params });
   }
 
   getCompteByNumero(numeroCompte: string): Observable<Compte> {
@@ -76,15 +72,11 @@ export class CompteService {
     return this.http.get<Compte[]>(`${this.API_URL}/client/${clientId}`);
   }
 
-  getComptesByType(type: 'COURANT' | 'EPARGNE'): Observable<Compte[]> {
-    return this.http.get<Compte[]>(`${this.API_URL}/type/${type}`);
-  }
-
-  getTransactionsByCompte(numeroCompte: string, page = 0, size = 10): Observable<any> {
+  getComptesByType(type: 'COURANT' | 'EPARGNE', page = 0, size = 100): Observable<Compte[]> {
     const params = new HttpParams()
       .set('page', page.toString())
       .set('size', size.toString());
-    return this.http.get(`${this.API_URL}/${numeroCompte}/transactions`, { params });
+    return this.http.get<Compte[]>(`${this.API_URL}/type/${type}`, { params });
   }
 
   getTransactionsByPeriod(numeroCompte: string, dateDebut: string, dateFin: string): Observable<any> {
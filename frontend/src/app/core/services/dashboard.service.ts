@@ -0,0 +1,61 @@
+// dashboard.service.ts
+import { Injectable } from '@angular/core';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { Observable } from 'rxjs';
+import { environment } from '../../../environments/environment';
+
+export interface NombreParMois {
+  annee: number;
+  mois: number;
+  nombre: number;
+}
+
+export interface TotalParType {
+  type: string;
+  nombre: number;
+  montant: number;
+}
+
+export interface VolumeJour {
+  jour: string;
+  type: string;
+  nombre: number;
+  montant: number;
+}
+
+export interface Dashboard {
+  debut: string;
+  fin: string;
+  totalClients: number;
+  nouveauxClients: number;
+  totalComptes: number;
+  nouveauxComptes: number;
+  soldeTotal: number;
+  comptesParType: { type: 'COURANT' | 'EPARGNE'; nombre: number; solde: number }[];
+  nombreTransactions: number;
+  volumeTransactions: number;
+  transactionsParType: TotalParType[];
+  volumesParJour: VolumeJour[];
+  transactionsEnAttente: number;
+  clientsParMois: NombreParMois[];
+  comptesParMois: NombreParMois[];
+  topClients: { clientId: number; nom: string; prenom: string; nombreComptes: number; soldeTotal: number }[];
+  activiteRecente: any[];
+}
+
+@Injectable({
+  providedIn: 'root'
+})
+export class DashboardService {
+  private readonly API_URL = `${environment.apiUrl}/v1/dashboard`;
+
+  constructor(private http: HttpClient) {}
+
+  // Un seul appel : agrégats calculés côté serveur (dates au format yyyy-MM-dd, fin incluse)
+  getDashboard(debut?: string, fin?: string): Observable<Dashboard> {
+    let params = new HttpParams();
+    if (debut) params = params.set('debut', debut);
+    if (fin) params = params.set('fin', fin);
+    return this.http.get<Dashboard>(this.API_URL, { params });
+  }
+}
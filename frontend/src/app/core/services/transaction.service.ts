@@ -2,6 +2,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import { environment } from '../../../environments/environment';
 
 export interface Transaction {
@@ -48,6 +49,26 @@ export interface PaginatedResponse<T> {
   empty: boolean;
 }
 
+export interface HistoriquePage {
+  transactions: any[];
+  nextCursor: string | null;
+}
+
+// Critères du journal : un critère absent ne filtre pas, dates au format yyyy-MM-dd
+export interface FiltreJournal {
+  type?: string;
+  statut?: string;
+  debut?: string;
+  fin?: string;
+  search?: string;
+}
+
+export interface TotalParType {
+  type: string;
+  nombre: number;
+  montant: number;
+}
+
 export interface TransactionStatistics {
   totalTransactions: number;
   totalDepots: number;
@@ -77,8 +98,45 @@ export class TransactionService {
     });
   }
 
-  getTransactionsByNumeroCompte(numeroCompte: string): Observable<any[]> {
-    return this.http.get<any[]>(`${this.API_URL}/comptes/${numeroCompte}/transactions`);
+  // Historique par curseur : nextCursor est null sur la dernière page
+  getHistoriqueCompte(numeroCompte: string, size = 50, cursor?: string | null): Observable<HistoriquePage> {
+    let params = new HttpParams().set('size', size.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<any[]>(`${this.API_URL}/comptes/${numeroCompte}/transactions`, { params, observe: 'response' })
+      .pipe(map(response => ({
+        transactions: response.body ?? [],
+        nextCursor: response.headers.get('X-Next-Cursor')
+      })));
+  }
+
+  // Journal tous comptes, filtré côté serveur, par curseur comme l'historique d'un compte
+  getJournal(filtre: FiltreJournal, size = 50, cursor?: string | null): Observable<HistoriquePage> {
+    let params = this.paramsJournal(filtre).set('size', size.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<any[]>(`${this.API_URL}/transactions`, { params, observe: 'response' })
+      .pipe(map(response => ({
+        transactions: response.body ?? [],
+        nextCursor: response.headers.get('X-Next-Cursor')
+      })));
+  }
+
+  // Totaux par type des opérations validées, pour les mêmes critères que le journal
+  getTotauxJournal(filtre: FiltreJournal): Observable<TotalParType[]> {
+    return this.http.get<TotalParType[]>(`${this.API_URL}/transactions/totaux`, { params: this.paramsJournal(filtre) });
+  }
+
+  private paramsJournal(filtre: FiltreJournal): HttpParams {
+    let params = new HttpParams();
+    Object.entries(filtre).forEach(([cle, valeur]) => {
+      if (valeur) {
+        params = params.set(cle, valeur);
+      }
+    });
+    return params;
   }
 
   getTransactionsByNumeroComptePeriod(numeroCompte: string, startDate: string, endDate: string): Observable<any[]> {
@@ -144,6 +144,16 @@ import { catchError } from 'rxjs/operators';
               <tr mat-header-row *matHeaderRowDef="displayedColumns"></tr>
               <tr mat-row *matRowDef="let row; columns: displayedColumns"></tr>
             </table>
+
+            <div class="pager" *ngIf="page > 0 || hasNextPage">
+              <button mat-icon-button (click)="previousPage()" [disabled]="page === 0" matTooltip="Page précédente">
+                <mat-icon>chevron_left</mat-icon>
+              </button>
+              <span>Page {{page + 1}}</span>
+              <button mat-icon-button (click)="nextPage()" [disabled]="!hasNextPage" matTooltip="Page suivante">
+                <mat-icon>chevron_right</mat-icon>
+              </button>
+            </div>
           </div>
 
           <!-- État vide -->
@@ -316,6 +326,15 @@ import { catchError } from 'rxjs/operators';
       margin-top: 16px;
       color: #666;
     }
+
+    .pager {
+      display: flex;
+      align-items: center;
+      justify-content: flex-end;
+      gap: 8px;
+      padding-top: 12px;
+      color: #666;
+    }
   `]
 })
 export class ComptesListComponent implements OnInit, AfterViewInit {
@@ -325,6 +344,12 @@ export class ComptesListComponent implements OnInit, AfterViewInit {
   searchTerm = '';
   menuCompte: Compte | null = null;
 
+  // Pagination serveur : une page pleine laisse supposer une page suivante
+  selectedType: 'COURANT' | 'EPARGNE' | null = null;
+  page = 0;
+  readonly pageSize = 50;
+  hasNextPage = false;
+
   @ViewChild(MatSort) sort!: MatSort;
 
   constructor(
@@ -345,18 +370,18 @@ export class ComptesListComponent implements OnInit, AfterViewInit {
 
   loadComptes(): void {
     this.isLoading = true;
-    console.log('Loading comptes from API...');
-    this.compteService.getAllComptes(0, 1000).subscribe({
+    const comptes$ = this.selectedType
+      ? this.compteService.getComptesByType(this.selectedType, this.page, this.pageSize)
+      : this.compteService.getAllComptes(this.page, this.pageSize);
+    comptes$.subscribe({
       next: (response: any) => {
-        console.log('Comptes response:', response);
-        // L'API retourne maintenant un tableau direct de Compte[]
         const comptes = Array.isArray(response) ? response : [];
-        console.log('Number of comptes:', comptes.length);
+        this.hasNextPage = comptes.length === this.pageSize;
         
         // Charger les informations des clients pour chaque compte
         if (comptes.length > 0) {
+          // Titulaires de la page affichée seulement
           const clientIds = [...new Set(comptes.map((c: any) => c.clientId).filter((id: any) => id))] as number[];
-          console.log('Loading clients for IDs:', clientIds);
 
           const clientRequests = clientIds.map((id: number) =>
             this.clientService.getClient(id).pipe(catchError(() => of(null)))
@@ -427,11 +452,9 @@ export class ComptesListComponent implements OnInit, AfterViewInit {
   }
 
   filterByType(type: string): void {
-    this.compteService.getComptesByType(type as 'COURANT' | 'EPARGNE').subscribe({
-      next: (comptes) => {
-        this.dataSource.data = comptes;
-      }
-    });
+    this.selectedType = type as 'COURANT' | 'EPARGNE';
+    this.page = 0;
+    this.loadComptes();
   }
 
   filterByStatus(status: string): void {
@@ -440,9 +463,25 @@ export class ComptesListComponent implements OnInit, AfterViewInit {
 
   clearFilters(): void {
     this.searchTerm = '';
+    this.selectedType = null;
+    this.page = 0;
     this.loadComptes();
   }
 
+  previousPage(): void {
+    if (this.page > 0) {
+      this.page--;
+      this.loadComptes();
+    }
+  }
+
+  nextPage(): void {
+    if (this.hasNextPage) {
+      this.page++;
+      this.loadComptes();
+    }
+  }
+
   setMenuCompte(compte: Compte): void {
     this.menuCompte = compte;
   }
@@ -1,4 +1,4 @@
-import { Component, OnInit, ChangeDetectorRef, HostListener } from '@angular/core';
+import { Component, OnInit, OnDestroy, ChangeDetectorRef, HostListener } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { MatTableModule } from '@angular/material/table';
@@ -14,13 +14,11 @@ import { MatNativeDateModule } from '@angular/material/core';
 import { MatCardModule } from '@angular/material/card';
 import { MatMenuModule } from '@angular/material/menu';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
-import { TransactionService } from '../../core/services/transaction.service';
-import { CompteService } from '../../core/services/compte.service';
+import { FiltreJournal, TransactionService } from '../../core/services/transaction.service';
 import { ExportService } from '../../core/services/export.service';
 import { ToastrService } from 'ngx-toastr';
-import { ClientService } from '../../core/services/client.service';
-import { forkJoin, of } from 'rxjs';
-import { catchError } from 'rxjs/operators';
+import { Subject, Subscription } from 'rxjs';
+import { debounceTime, distinctUntilChanged } from 'rxjs/operators';
 import { jsPDF } from 'jspdf';
 
 interface Transaction {
@@ -77,7 +75,7 @@ interface Transaction {
               <mat-label>Rechercher</mat-label>
               <input matInput 
                      [(ngModel)]="searchTerm" 
-                     (input)="applyFilters()"
+                     (input)="onSearchChange()"
                      placeholder="Référence, compte, client...">
               <mat-icon matSuffix>search</mat-icon>
             </mat-form-field>
@@ -283,6 +281,12 @@ interface Transaction {
               <tr mat-header-row *matHeaderRowDef="displayedColumns"></tr>
               <tr mat-row *matRowDef="let row; columns: displayedColumns;"></tr>
             </table>
+
+            <div class="load-more" *ngIf="nextCursor">
+              <button mat-stroked-button color="primary" (click)="loadMore()" [disabled]="loadingMore">
+                {{ loadingMore ? 'Chargement...' : 'Charger plus' }}
+              </button>
+            </div>
           </div>
         </mat-card-content>
       </mat-card>
@@ -390,6 +394,12 @@ interface Transaction {
       opacity: 0.9;
     }
 
+    .load-more {
+      display: flex;
+      justify-content: center;
+      padding: 16px 0;
+    }
+
     .loading-container {
       display: flex;
       justify-content: center;
@@ -597,7 +607,7 @@ interface Transaction {
 
   `]
 })
-export class TransactionsListComponent implements OnInit {
+export class TransactionsListComponent implements OnInit, OnDestroy {
   displayedColumns: string[] = [
     'reference',
     'type',
@@ -611,6 +621,15 @@ export class TransactionsListComponent implements OnInit {
   transactions: Transaction[] = [];
   displayedTransactions: Transaction[] = [];
   loading = false;
+  loadingMore = false;
+
+  // Journal paginé par curseur : null sur la dernière page
+  nextCursor: string | null = null;
+  private readonly pageSize = 50;
+  private readonly recherche$ = new Subject<string>();
+  private rechercheSub?: Subscription;
+  private pageSub?: Subscription;
+  private totauxSub?: Subscription;
 
   // Responsive
   isMobile = false;
@@ -633,18 +652,25 @@ export class TransactionsListComponent implements OnInit {
 
   constructor(
     private transactionService: TransactionService,
-    private compteService: CompteService,
     private exportService: ExportService,
     private toastr: ToastrService,
-    private cdr: ChangeDetectorRef,
-    private clientService: ClientService
+    private cdr: ChangeDetectorRef
   ) {}
 
   ngOnInit(): void {
     this.updateViewportFlags();
+    this.rechercheSub = this.recherche$
+      .pipe(debounceTime(300), distinctUntilChanged())
+      .subscribe(() => this.applyFilters());
     this.loadTransactions();
   }
 
+  ngOnDestroy(): void {
+    this.rechercheSub?.unsubscribe();
+    this.pageSub?.unsubscribe();
+    this.totauxSub?.unsubscribe();
+  }
+
   @HostListener('window:resize')
   onResize(): void {
     this.updateViewportFlags();
@@ -673,169 +699,58 @@ export class TransactionsListComponent implements OnInit {
 
   loadTransactions(): void {
     this.loading = true;
-    
-    // Charger tous les comptes d'abord
-    this.compteService.getAllComptes(0, 1000).subscribe({
-      next: (comptesResponse: any) => {
-        const comptes = Array.isArray(comptesResponse) ? comptesResponse : [];
-
-        if (!comptes.length) {
-          this.transactions = [];
-          this.calculateStatistics();
-          this.applyFilters();
-          this.loading = false;
-          this.cdr.markForCheck();
-          return;
-        }
-        
-        const transactionRequests = comptes.map((compte: any) =>
-          this.transactionService.getTransactionsByNumeroCompte(compte.numeroCompte).pipe(catchError(() => of([])))
-        );
-
-        forkJoin<any[]>(transactionRequests).subscribe(
-          (results: any[]) => {
-            const transactionsRaw = results.flat();
-            console.log('🔍 Transactions brutes chargées:', transactionsRaw.length);
-            console.log('🔍 Exemple transaction:', transactionsRaw[0]);
-            
-            // Enrichir avec les infos des comptes et mapper les champs de l'API
-            const enrichedTransactions = transactionsRaw.map((t: any) => {
-              const compte = comptes.find((c: any) => c.numeroCompte === t.compteId);
-              // Pour les virements, chercher les numéros de compte source et destination
-              const compteSourceObj = comptes.find((c: any) => c.id === t.compteId || c.numeroCompte === t.compteId);
-              const compteDestObj = comptes.find((c: any) => c.id === t.compteDestinationId || c.numeroCompte === t.compteDestinationId);
-              return {
-                id: t.id,
-                reference: t.reference,
-                type: t.type,
-                montant: t.montant,
-                dateTransaction: t.dateOperation || t.dateTransaction,
-                compteSource: compteSourceObj?.numeroCompte || t.compteId,
-                compteDestination: compteDestObj?.numeroCompte || t.compteDestinationId,
-                description: t.description,
-                status: t.statut || t.status, // Mapper statut → status
-                numeroCompte: t.compteId,
-                clientNom: compte?.client?.nom || '',
-                clientPrenom: compte?.client?.prenom || ''
-              };
-            });
-            console.log('🔍 Transactions enrichies:', enrichedTransactions.length);
-            console.log('🔍 Exemple transaction mappée:', enrichedTransactions[0]);
-
-            // Charger les clients si nécessaire
-            const clientIds = [...new Set(comptes.map((c: any) => c.clientId).filter(Boolean))] as number[];
-            if (clientIds.length > 0) {
-              const clientRequests = clientIds.map((id: number) =>
-                this.clientService.getClient(id).pipe(catchError(() => of(null)))
-              );
-
-              forkJoin<any[]>(clientRequests).subscribe(
-                (clients: any[]) => {
-                  const clientMap = new Map();
-                  clients.forEach((client: any) => {
-                    if (client) clientMap.set(client.id, client);
-                  });
-
-                  this.transactions = enrichedTransactions.map((t: any) => {
-                    const compte = comptes.find((c: any) => c.numeroCompte === t.numeroCompte);
-                    const client = compte ? clientMap.get(compte.clientId) : null;
-                    return {
-                      ...t,
-                      clientNom: client?.nom || t.clientNom || '',
-                      clientPrenom: client?.prenom || t.clientPrenom || ''
-                    };
-                  });
-
-                  this.calculateStatistics();
-                  this.applyFilters();
-                  this.loading = false;
-                  this.cdr.markForCheck();
-                },
-                () => {
-                  this.transactions = enrichedTransactions;
-                  this.calculateStatistics();
-                  this.applyFilters();
-                  this.loading = false;
-                  this.cdr.markForCheck();
-                }
-              );
-            } else {
-              this.transactions = enrichedTransactions;
-              this.calculateStatistics();
-              this.applyFilters();
-              this.loading = false;
-              this.cdr.markForCheck();
-            }
-          },
-          (err) => {
-            console.error('Erreur lors du chargement des transactions:', err);
-            this.toastr.error('Erreur lors du chargement des transactions');
-            this.loading = false;
-            this.cdr.markForCheck();
-          }
-        );
+    this.loadingMore = false;
+    this.nextCursor = null;
+    const filtre = this.filtreCourant();
+    this.chargerTotaux(filtre);
+
+    // Une nouvelle recherche remplace la précédente encore en vol
+    this.pageSub?.unsubscribe();
+    this.pageSub = this.transactionService.getJournal(filtre, this.pageSize).subscribe({
+      next: (page) => {
+        this.transactions = page.transactions.map((t: any) => this.versLigne(t));
+        this.displayedTransactions = this.transactions;
+        this.nextCursor = page.nextCursor;
+        this.loading = false;
+        this.cdr.markForCheck();
       },
-      error: (error) => {
-        console.error('Erreur chargement comptes:', error);
-        this.toastr.error('Erreur lors du chargement des comptes');
+      error: (err) => {
+        console.error('Erreur lors du chargement des transactions:', err);
+        this.toastr.error('Erreur lors du chargement des transactions');
         this.loading = false;
         this.cdr.markForCheck();
       }
     });
   }
 
-  applyFilters(): void {
-    let filtered = [...this.transactions];
-
-    // Filtre recherche
-    if (this.searchTerm) {
-      const term = this.searchTerm.toLowerCase();
-      filtered = filtered.filter(t =>
-        t.reference.toLowerCase().includes(term) ||
-        t.compteSource?.toLowerCase().includes(term) ||
-        t.compteDestination?.toLowerCase().includes(term) ||
-        t.clientNom?.toLowerCase().includes(term) ||
-        t.clientPrenom?.toLowerCase().includes(term) ||
-        `${t.clientPrenom} ${t.clientNom}`.toLowerCase().includes(term)
-      );
-    }
-
-    // Filtre type
-    if (this.selectedType) {
-      filtered = filtered.filter(t => t.type === this.selectedType);
-    }
-
-    // Filtre statut
-    if (this.selectedStatus) {
-      filtered = filtered.filter(t => t.status === this.selectedStatus);
-    }
-
-    // Filtre dates
-    if (this.dateDebut) {
-      filtered = filtered.filter(t => 
-        new Date(t.dateTransaction) >= this.dateDebut!
-      );
-    }
-    if (this.dateFin) {
-      const endDate = new Date(this.dateFin);
-      endDate.setHours(23, 59, 59, 999);
-      filtered = filtered.filter(t => 
-        new Date(t.dateTransaction) <= endDate
-      );
-    }
-
-    // Trier par date décroissante (plus récentes en premier)
-    filtered.sort((a, b) => {
-      const dateA = new Date(a.dateTransaction).getTime();
-      const dateB = new Date(b.dateTransaction).getTime();
-      return dateB - dateA;
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
+      return;
+    }
+    this.loadingMore = true;
+    this.pageSub = this.transactionService.getJournal(this.filtreCourant(), this.pageSize, this.nextCursor).subscribe({
+      next: (page) => {
+        this.transactions = [...this.transactions, ...page.transactions.map((t: any) => this.versLigne(t))];
+        this.displayedTransactions = this.transactions;
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+        this.cdr.markForCheck();
+      },
+      error: () => {
+        this.toastr.error('Erreur lors du chargement des transactions');
+        this.loadingMore = false;
+        this.cdr.markForCheck();
+      }
     });
+  }
 
-    // Afficher toutes les transactions filtrées
-    this.displayedTransactions = filtered;
-    
-    // Recalculer les stats sur les transactions filtrées
-    this.calculateStatistics(filtered);
+  onSearchChange(): void {
+    this.recherche$.next(this.searchTerm);
+  }
+
+  // Les filtres sont appliqués par le serveur : chaque changement recharge la première page
+  applyFilters(): void {
+    this.loadTransactions();
   }
 
   resetFilters(): void {
@@ -847,47 +762,57 @@ export class TransactionsListComponent implements OnInit {
     this.applyFilters();
   }
 
-  calculateStatistics(transactions?: Transaction[]): void {
-    const data = transactions || this.transactions;
-    console.log('📊 Calcul statistiques sur:', data.length, 'transactions');
-    console.log('📊 Exemple transaction complète:', JSON.stringify(data[0], null, 2));
-    
-    // Afficher tous les types uniques présents dans les données
-    const uniqueTypes = [...new Set(data.map(t => t.type))];
-    const uniqueStatuts = [...new Set(data.map(t => t.status))];
-    console.log('📊 Types uniques:', uniqueTypes);
-    console.log('📊 Statuts uniques:', uniqueStatuts);
-    
-    // Afficher tous les types/statuts pour chaque transaction
-    const typeStatutCount: { [key: string]: number } = {};
-    data.forEach(t => {
-      const key = `${t.type}/${t.status}`;
-      typeStatutCount[key] = (typeStatutCount[key] || 0) + 1;
+  private chargerTotaux(filtre: FiltreJournal): void {
+    this.totauxSub?.unsubscribe();
+    this.totauxSub = this.transactionService.getTotauxJournal(filtre).subscribe({
+      next: (totaux) => {
+        const montant = (type: string) => totaux.find(t => t.type === type)?.montant ?? 0;
+        this.statistics = {
+          totalDepots: montant('DEPOT'),
+          totalRetraits: montant('RETRAIT'),
+          // Un virement n'est compté qu'une fois, côté émetteur
+          totalVirements: montant('VIREMENT_EMIS'),
+          nombreTransactions: totaux.reduce((somme, t) => somme + t.nombre, 0)
+        };
+        this.cdr.markForCheck();
+      },
+      error: (err) => console.error('Erreur lors du chargement des totaux:', err)
     });
-    console.log('📊 Comptage par type/statut:', typeStatutCount);
-    
-    const depots = data.filter(t => t.type === 'DEPOT' && t.status === 'VALIDEE');
-    const retraits = data.filter(t => t.type === 'RETRAIT' && t.status === 'VALIDEE');
-    // Les virements : compter UNIQUEMENT VIREMENT_EMIS pour éviter le double comptage
-    // (VIREMENT_RECU représente la même transaction vue du côté récepteur)
-    const virements = data.filter(t => t.type === 'VIREMENT_EMIS');
-    
-    // Afficher les virements avec tous les détails pour déboguer
-    const tousLesVirements = data.filter(t => t.type === 'VIREMENT_EMIS');
-    console.log('📊 TOUS les virements émis (peu importe le statut):', tousLesVirements.length, tousLesVirements.map(t => ({ type: t.type, status: t.status, montant: t.montant, reference: t.reference })));
-    
-    console.log('📊 Dépôts validés:', depots.length, depots.map(t => ({ type: t.type, status: t.status, montant: t.montant })));
-    console.log('📊 Retraits validés:', retraits.length, retraits.map(t => ({ type: t.type, status: t.status, montant: t.montant })));
-    console.log('📊 Virements (tous statuts):', virements.length, virements.map(t => ({ type: t.type, status: t.status, montant: t.montant })));
-    
-    this.statistics = {
-      totalDepots: depots.reduce((sum, t) => sum + t.montant, 0),
-      totalRetraits: retraits.reduce((sum, t) => sum + t.montant, 0),
-      totalVirements: virements.reduce((sum, t) => sum + t.montant, 0),
-      nombreTransactions: data.filter(t => t.status === 'VALIDEE').length
+  }
+
+  private filtreCourant(): FiltreJournal {
+    return {
+      type: this.selectedType || undefined,
+      statut: this.selectedStatus || undefined,
+      debut: this.formatDate(this.dateDebut),
+      fin: this.formatDate(this.dateFin),
+      search: this.searchTerm.trim() || undefined
     };
-    
-    console.log('📊 Statistiques calculées:', JSON.stringify(this.statistics, null, 2));
+  }
+
+  private versLigne(t: any): Transaction {
+    return {
+      id: t.id,
+      reference: t.reference,
+      type: t.type,
+      montant: t.montant,
+      dateTransaction: t.dateOperation,
+      compteSource: t.compteId,
+      compteDestination: t.compteDestinationId,
+      description: t.description,
+      status: t.statut,
+      numeroCompte: t.compteId,
+      clientNom: t.clientNom || '',
+      clientPrenom: t.clientPrenom || ''
+    };
+  }
+
+  private formatDate(date: Date | null): string | undefined {
+    if (!date) return undefined;
+    const d = new Date(date);
+    const mois = String(d.getMonth() + 1).padStart(2, '0');
+    const jour = String(d.getDate()).padStart(2, '0');
+    return `${d.getFullYear()}-${mois}-${jour}`;
   }
 
   viewDetails(transaction: Transaction): void {
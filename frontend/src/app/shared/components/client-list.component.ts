@@ -156,6 +156,15 @@ import { ToastrService } from 'ngx-toastr';
               <tr mat-row *matRowDef="let row; columns: displayedColumns"></tr>
             </table>
 
+            <div class="pager" *ngIf="page > 0 || hasNextPage">
+              <button mat-icon-button (click)="previousPage()" [disabled]="page === 0" matTooltip="Page précédente">
+                <mat-icon>chevron_left</mat-icon>
+              </button>
+              <span>Page {{page + 1}}</span>
+              <button mat-icon-button (click)="nextPage()" [disabled]="!hasNextPage" matTooltip="Page suivante">
+                <mat-icon>chevron_right</mat-icon>
+              </button>
+            </div>
           </div>
 
           <div *ngIf="!isLoading && dataSource.data.length === 0" class="empty-state">
@@ -360,6 +369,15 @@ import { ToastrService } from 'ngx-toastr';
     mat-card {
       position: relative;
     }
+
+    .pager {
+      display: flex;
+      align-items: center;
+      justify-content: flex-end;
+      gap: 8px;
+      padding-top: 12px;
+      color: #666;
+    }
   `]
 })
 export class ClientListComponent implements OnInit, AfterViewInit {
@@ -376,13 +394,16 @@ export class ClientListComponent implements OnInit, AfterViewInit {
     'updatedAt'
   ];
   dataSource = new MatTableDataSource<Client>([]);
-  allClients: Client[] = [];
-  totalClients = 0;
   searchTerm = '';
   selectedStatus = 'all';
   isLoading = true;
   menuClient: Client | null = null;
 
+  // Pagination serveur : une page pleine laisse supposer une page suivante
+  page = 0;
+  readonly pageSize = 50;
+  hasNextPage = false;
+
   @ViewChild(MatSort) sort!: MatSort;
 
   constructor(
@@ -402,10 +423,21 @@ export class ClientListComponent implements OnInit, AfterViewInit {
   }
 
   loadClients(): void {
-    this.clientService.getClients().subscribe({
+    this.isLoading = true;
+    const actif = this.selectedStatus === 'active' ? true
+      : this.selectedStatus === 'inactive' ? false : undefined;
+    const terme = this.searchTerm.trim();
+    const clients$ = terme
+      ? this.clientService.searchClients(terme, this.page, this.pageSize, actif)
+      : this.clientService.getClients(this.page, this.pageSize, actif);
+
+    clients$.subscribe({
       next: (clients: Client[]) => {
-        this.allClients = clients;
-        this.applyFilters(true);
+        this.dataSource.data = clients;
+        this.hasNextPage = clients.length === this.pageSize;
+        if (this.sort) {
+          this.dataSource.sort = this.sort;
+        }
         this.isLoading = false;
         this.cdr.markForCheck();
       },
@@ -417,33 +449,25 @@ export class ClientListComponent implements OnInit, AfterViewInit {
     });
   }
 
+  // Recherche et statut sont appliqués par le serveur
   applyFilters(resetPaginator = false): void {
-    let filtered = [...this.allClients];
-
-    if (this.searchTerm) {
-      const term = this.searchTerm.toLowerCase();
-      filtered = filtered.filter(c =>
-        c.clientCode?.toLowerCase().includes(term) ||
-        c.fullName?.toLowerCase().includes(term) ||
-        c.prenom?.toLowerCase().includes(term) ||
-        c.nom?.toLowerCase().includes(term) ||
-        c.email?.toLowerCase().includes(term) ||
-        (c.telephone || '').toLowerCase().includes(term) ||
-        c.nationalite?.toLowerCase().includes(term)
-      );
+    if (resetPaginator) {
+      this.page = 0;
     }
+    this.loadClients();
+  }
 
-    if (this.selectedStatus === 'active') {
-      filtered = filtered.filter(c => c.active);
-    } else if (this.selectedStatus === 'inactive') {
-      filtered = filtered.filter(c => !c.active);
+  previousPage(): void {
+    if (this.page > 0) {
+      this.page--;
+      this.loadClients();
     }
+  }
 
-    this.totalClients = filtered.length;
-    this.dataSource.data = filtered;
-
-    if (this.sort) {
-      this.dataSource.sort = this.sort;
+  nextPage(): void {
+    if (this.hasNextPage) {
+      this.page++;
+      this.loadClients();
     }
   }
 
@@ -14,13 +14,9 @@ import { MatTabsModule } from '@angular/material/tabs';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { BaseChartDirective } from 'ng2-charts';
 import { ChartConfiguration } from 'chart.js';
-import { TransactionService } from '../../core/services/transaction.service';
-import { ClientService } from '../../core/services/client.service';
-import { CompteService, Compte } from '../../core/services/compte.service';
+import { DashboardService, Dashboard, NombreParMois } from '../../core/services/dashboard.service';
 import { ExportService } from '../../core/services/export.service';
 import { ToastrService } from 'ngx-toastr';
-import { forkJoin, of } from 'rxjs';
-import { catchError } from 'rxjs/operators';
 
 @Component({
   selector: 'app-dashboard',
@@ -216,6 +212,25 @@ import { catchError } from 'rxjs/operators';
                   </div>
                 </mat-card-content>
               </mat-card>
+
+              <mat-card class="stats-card">
+                <mat-card-header>
+                  <mat-card-title>Activité récente</mat-card-title>
+                </mat-card-header>
+                <mat-card-content>
+                  <div class="top-clients">
+                    <div *ngFor="let transaction of activiteRecente" class="client-item">
+                      <div class="client-info">
+                        <strong>{{ transaction.libelle || transaction.type }}</strong>
+                        <span>{{ transaction.compteId }} · {{ transaction.dateOperation | date:'dd/MM/yyyy HH:mm' }}</span>
+                      </div>
+                      <div class="client-solde">
+                        {{ transaction.montant | number:'1.2-2' }} FCFA
+                      </div>
+                    </div>
+                  </div>
+                </mat-card-content>
+              </mat-card>
             </div>
           </mat-tab>
 
@@ -785,6 +800,7 @@ export class DashboardComponent implements OnInit {
   };
 
   topClients: any[] = [];
+  activiteRecente: any[] = [];
 
   transactionsVolumeChart: ChartConfiguration = {
     type: 'bar',
@@ -925,9 +941,7 @@ export class DashboardComponent implements OnInit {
   };
 
   constructor(
-    private transactionService: TransactionService,
-    private clientService: ClientService,
-    private compteService: CompteService,
+    private dashboardService: DashboardService,
     private exportService: ExportService,
     private toastr: ToastrService,
     private cdr: ChangeDetectorRef,
@@ -986,111 +1000,13 @@ export class DashboardComponent implements OnInit {
 
   loadData(): void {
     this.loading = true;
-    this.loadKPIs();
-    this.loadComptesData();
-    this.loadClientsData();
-  }
-
-  loadKPIs(): void {
-    forkJoin({
-      clients: this.clientService.getClients().pipe(catchError(() => of([]))),
-      comptes: this.compteService.getAllComptes(0, 1000).pipe(catchError(() => of([])))
-    }).subscribe({
-      next: ({ clients, comptes }) => {
-        const comptesList = Array.isArray(comptes) ? comptes : [];
-
-        this.kpis.totalClients = clients.length || 0;
-        this.kpis.totalComptes = comptesList.length || 0;
-
-        // Calculer les nouveaux comptes ce mois
-        const now = new Date();
-        const debutMois = new Date(now.getFullYear(), now.getMonth(), 1, 0, 0, 0, 0);
-        this.kpis.nouveauxComptes = comptesList.filter((c: any) => {
-          const dateCreation = new Date(c.createdAt || c.dateCreation);
-          return dateCreation >= debutMois;
-        }).length;
-
-        // Calculer les nouveaux clients ce mois
-        this.kpis.nouveauxClients = clients.filter((c: any) => {
-          const dateCreation = new Date(c.createdAt);
-          return dateCreation >= debutMois;
-        }).length;
-
-        this.kpis.soldeTotal = comptesList.reduce((sum: number, compte: any) => sum + (compte?.solde || 0), 0);
-
-        const comptesParType = {
-          courant: comptesList.filter((c: any) => c.type === 'COURANT').length,
-          epargne: comptesList.filter((c: any) => c.type === 'EPARGNE').length
-        };
-        
-        // Réinitialiser les charts
-        this.comptesTypeChart.data.datasets[0].data = [comptesParType.courant, comptesParType.epargne];
-
-        if (!comptesList.length) {
-          this.kpis.nombreTransactions = 0;
-          this.kpis.volumeTransactions = 0;
-          this.stats = {
-            depots: { nombre: 0, montant: 0 },
-            retraits: { nombre: 0, montant: 0 },
-            virements: { nombre: 0, montant: 0 }
-          };
-          this.transactionsTypeChart.data.datasets[0].data = [0, 0, 0];
-          this.transactionsVolumeChart.data.labels = [];
-          this.transactionsVolumeChart.data.datasets[0].data = [];
-          this.loading = false;
-          this.cdr.markForCheck();
-          return;
-        }
-
-        const transactionRequests = comptesList.map((compte: any) =>
-          this.transactionService.getTransactionsByNumeroCompte(compte.numeroCompte).pipe(catchError(() => of([])))
-        );
-
-        forkJoin<any[]>(transactionRequests).subscribe(
-          (results: any[]) => {
-            const transactionsRaw = results.flat();
-            const transactions = this.filterTransactionsByDate(transactionsRaw);
-
-            this.kpis.nombreTransactions = transactions.length;
-            this.kpis.volumeTransactions = transactions.reduce((sum: number, t: any) => sum + (t?.montant || 0), 0);
-
-            this.stats.depots = {
-              nombre: transactions.filter((t: any) => t.type === 'DEPOT').length,
-              montant: transactions.filter((t: any) => t.type === 'DEPOT').reduce((sum: number, t: any) => sum + (t?.montant || 0), 0)
-            };
-            this.stats.retraits = {
-              nombre: transactions.filter((t: any) => t.type === 'RETRAIT').length,
-              montant: transactions.filter((t: any) => t.type === 'RETRAIT').reduce((sum: number, t: any) => sum + (t?.montant || 0), 0)
-            };
-            this.stats.virements = {
-              nombre: transactions.filter((t: any) => (t.type === 'VIREMENT_EMIS' || t.type === 'VIREMENT_RECU' || t.type === 'VIREMENT')).length,
-              montant: transactions.filter((t: any) => (t.type === 'VIREMENT_EMIS' || t.type === 'VIREMENT_RECU' || t.type === 'VIREMENT')).reduce((sum: number, t: any) => sum + (t?.montant || 0), 0)
-            };
-
-            this.transactionsTypeChart.data.datasets[0].data = [
-              this.stats.depots.montant,
-              this.stats.retraits.montant,
-              this.stats.virements.montant
-            ];
-
-            this.loadTransactionsChart(transactions);
-
-            // Forcer la mise à jour complète des graphiques (crée nouvelles instances)
-            const volumeChartBackup = JSON.stringify(this.transactionsVolumeChart);
-            const typeChartBackup = JSON.stringify(this.transactionsTypeChart);
-            
-            this.transactionsTypeChart = JSON.parse(typeChartBackup);
-            this.transactionsVolumeChart = JSON.parse(volumeChartBackup);
-
-            this.loading = false;
-            this.cdr.markForCheck();
-            this.cdr.detectChanges();
-          },
-          () => {
-            this.loading = false;
-            this.cdr.markForCheck();
-          }
-        );
+    // Un seul appel : les agrégats sont calculés par le serveur au lieu de charger l'historique de chaque compte
+    this.dashboardService.getDashboard(this.formatDate(this.dateDebut), this.formatDate(this.dateFin)).subscribe({
+      next: (dashboard: Dashboard) => {
+        this.applyDashboard(dashboard);
+        this.loading = false;
+        this.cdr.markForCheck();
+        this.cdr.detectChanges();
       },
       error: () => {
         this.loading = false;
@@ -1099,128 +1015,84 @@ export class DashboardComponent implements OnInit {
     });
   }
 
-  loadTransactionsData(): void {
-    // Cette méthode n'est plus utilisée, les données sont chargées dans loadKPIs
-  }
-
-  loadTransactionsChart(transactions: any[]): void {
-    // Grouper par jour
-    const transParJour: { [key: string]: number } = {};
-    transactions.forEach((t: any) => {
-      const rawDate = t.dateTransaction || t.dateOperation;
-      if (!rawDate) return;
-      const d = new Date(rawDate);
-      if (isNaN(d.getTime())) return;
-      const date = d.toLocaleDateString('fr-FR');
-      transParJour[date] = (transParJour[date] || 0) + (t.montant || 0);
+  private applyDashboard(dashboard: Dashboard): void {
+    this.kpis.totalClients = dashboard.totalClients || 0;
+    this.kpis.nouveauxClients = dashboard.nouveauxClients || 0;
+    this.kpis.totalComptes = dashboard.totalComptes || 0;
+    this.kpis.nouveauxComptes = dashboard.nouveauxComptes || 0;
+    this.kpis.soldeTotal = dashboard.soldeTotal || 0;
+    this.kpis.nombreTransactions = dashboard.nombreTransactions || 0;
+    this.kpis.volumeTransactions = dashboard.volumeTransactions || 0;
+
+    const totalPour = (types: string[]) => (dashboard.transactionsParType || [])
+      .filter(t => types.includes(t.type))
+      .reduce((acc, t) => ({ nombre: acc.nombre + (t.nombre || 0), montant: acc.montant + (t.montant || 0) }),
+        { nombre: 0, montant: 0 });
+    this.stats = {
+      depots: totalPour(['DEPOT']),
+      retraits: totalPour(['RETRAIT']),
+      virements: totalPour(['VIREMENT_EMIS', 'VIREMENT_RECU'])
+    };
+    this.transactionsTypeChart.data.datasets[0].data = [
+      this.stats.depots.montant,
+      this.stats.retraits.montant,
+      this.stats.virements.montant
+    ];
+
+    // Volume par jour, tous types confondus (jours déjà triés par le serveur)
+    const transParJour = new Map<string, number>();
+    (dashboard.volumesParJour || []).forEach(v => {
+      const date = new Date(v.jour + 'T00:00:00').toLocaleDateString('fr-FR');
+      transParJour.set(date, (transParJour.get(date) || 0) + (v.montant || 0));
     });
-
-    const derniers7Jours = Object.entries(transParJour).slice(-7);
+    const derniers7Jours = Array.from(transParJour.entries()).slice(-7);
     this.transactionsVolumeChart.data.labels = derniers7Jours.map(([date]) => date);
     this.transactionsVolumeChart.data.datasets[0].data = derniers7Jours.map(([, montant]) => montant);
-  }
 
-  private filterTransactionsByDate(transactions: any[]): any[] {
-    if (!this.dateDebut || !this.dateFin) {
-      console.log('❌ Pas de filtre de date, retour toutes transactions:', transactions.length);
-      return transactions;
-    }
+    const comptesParType = (type: string) =>
+      (dashboard.comptesParType || []).find(c => c.type === type)?.nombre || 0;
+    this.comptesTypeChart.data.datasets[0].data = [comptesParType('COURANT'), comptesParType('EPARGNE')];
+
+    // Évolution des comptes : cumul des ouvertures sur les six derniers mois
+    const comptesParMois = dashboard.comptesParMois || [];
+    this.comptesEvolutionChart.data.labels = comptesParMois.map(m => this.libelleMois(m));
+    let cumul = 0;
+    this.comptesEvolutionChart.data.datasets[0].data = comptesParMois.map(m => {
+      cumul += m.nombre;
+      return cumul;
+    });
 
-    const start = new Date(this.dateDebut);
-    start.setHours(0, 0, 0, 0);
-    const end = new Date(this.dateFin);
-    end.setHours(23, 59, 59, 999);
+    const clientsParMois = dashboard.clientsParMois || [];
+    this.clientsEvolutionChart.data.labels = clientsParMois.map(m => this.libelleMois(m));
+    this.clientsEvolutionChart.data.datasets[0].data = clientsParMois.map(m => m.nombre);
 
-    const filtered = transactions.filter((t: any) => {
-      const rawDate = t.dateTransaction || t.dateOperation;
-      if (!rawDate) return false;
-      const d = new Date(rawDate);
-      if (isNaN(d.getTime())) return false;
-      return d >= start && d <= end;
-    });
+    this.topClients = (dashboard.topClients || []).map(c => ({
+      id: c.clientId,
+      nom: `${c.nom || ''} ${c.prenom || ''}`.trim(),
+      nombreComptes: c.nombreComptes,
+      soldeTotal: c.soldeTotal || 0
+    }));
+    this.activiteRecente = dashboard.activiteRecente || [];
 
-    return filtered;
+    // Forcer la mise à jour complète des graphiques (crée nouvelles instances)
+    this.transactionsTypeChart = JSON.parse(JSON.stringify(this.transactionsTypeChart));
+    this.transactionsVolumeChart = JSON.parse(JSON.stringify(this.transactionsVolumeChart));
+    this.comptesTypeChart = JSON.parse(JSON.stringify(this.comptesTypeChart));
+    this.comptesEvolutionChart = JSON.parse(JSON.stringify(this.comptesEvolutionChart));
+    this.clientsEvolutionChart = JSON.parse(JSON.stringify(this.clientsEvolutionChart));
   }
 
-  loadComptesData(): void {
-    this.compteService.getAllComptes(0, 1000).subscribe({
-      next: (comptes: Compte[]) => {
-        const comptesData = Array.isArray(comptes) ? comptes : [];
-        
-        // Grouper par mois de création
-        const comptesParMois: { [key: string]: number } = {};
-        comptesData.forEach((c: any) => {
-          const date = new Date(c.createdAt || c.dateCreation);
-          const mois = date.toLocaleDateString('fr-FR', { month: 'short', year: '2-digit' });
-          comptesParMois[mois] = (comptesParMois[mois] || 0) + 1;
-        });
-
-        const derniers6Mois = Object.entries(comptesParMois).slice(-6);
-        this.comptesEvolutionChart.data.labels = derniers6Mois.map(([mois]) => mois);
-        
-        // Créer un tableau cumulatif
-        let cumul = 0;
-        this.comptesEvolutionChart.data.datasets[0].data = derniers6Mois.map(([, count]) => {
-          cumul += count;
-          return cumul;
-        });
-        this.cdr.markForCheck();
-      },
-      error: () => {}
-    });
+  private libelleMois(m: NombreParMois): string {
+    return new Date(m.annee, m.mois - 1, 1).toLocaleDateString('fr-FR', { month: 'short', year: '2-digit' });
   }
 
-  loadClientsData(): void {
-    this.clientService.getClients().subscribe({
-      next: (clients: any) => {
-
-        // Charger les comptes pour calculer le solde par client
-        this.compteService.getAllComptes(0, 1000).subscribe({
-          next: (comptes: Compte[]) => {
-            const comptesData = Array.isArray(comptes) ? comptes : [];
-
-            // Calculer le solde par client
-            const soldeParClient: { [key: number]: number } = {};
-            comptesData.forEach((c: any) => {
-              if (c.clientId) {
-                soldeParClient[c.clientId] = (soldeParClient[c.clientId] || 0) + (c.solde || 0);
-              }
-            });
-
-            // Créer la liste des clients avec solde et nombre de comptes
-            const clientsEnrichis = clients.map((client: any) => {
-              const nombreComptes = comptes.filter((c: any) => c.clientId === client.id).length;
-              return {
-                id: client.id,
-                nom: `${client.nom || ''} ${client.prenom || ''}`.trim(),
-                nombreComptes,
-                soldeTotal: soldeParClient[client.id] || 0
-              };
-            });
-
-            // Trier par solde décroissant et prendre les top 10
-            this.topClients = clientsEnrichis
-              .sort((a: any, b: any) => b.soldeTotal - a.soldeTotal)
-              .slice(0, 10);
-
-            // Grouper par mois pour l'évolution
-            const clientsParMois: { [key: string]: number } = {};
-            clients.forEach((c: any) => {
-              const date = new Date(c.createdAt);
-              const mois = date.toLocaleDateString('fr-FR', { month: 'short', year: '2-digit' });
-              clientsParMois[mois] = (clientsParMois[mois] || 0) + 1;
-            });
-
-            const derniers6Mois = Object.entries(clientsParMois).slice(-6);
-            this.clientsEvolutionChart.data.labels = derniers6Mois.map(([mois]) => mois);
-            this.clientsEvolutionChart.data.datasets[0].data = derniers6Mois.map(([, count]) => count);
-            this.cdr.markForCheck();
-          },
-          error: () => {}
-        });
-      },
-      error: () => {}
-    });
+  // Date locale au format yyyy-MM-dd attendu par l'API (toISOString décalerait le jour selon le fuseau)
+  private formatDate(date: Date | null): string | undefined {
+    if (!date) return undefined;
+    const d = new Date(date);
+    const mois = String(d.getMonth() + 1).padStart(2, '0');
+    const jour = String(d.getDate()).padStart(2, '0');
+    return `${d.getFullYear()}-${mois}-${jour}`;
   }
 
   exportReport(): void {